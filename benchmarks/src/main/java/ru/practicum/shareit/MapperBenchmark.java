@@ -0,0 +1,68 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The static entity-to-DTO mappers on their own, without Spring or a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Booking booking;
+    private Item item;
+    private Comment comment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1).name("owner").email("owner@user.com").version(0).build();
+        User booker = User.builder().id(2).name("booker").email("booker@user.com").version(0).build();
+        ItemRequest request = ItemRequest.builder().id(1).description("Нужна дрель").requestor(booker)
+                .created(now.minusDays(1)).version(0).build();
+
+        item = Item.builder().id(1).name("Дрель").description("Простая дрель").available(true).owner(owner)
+                .request(request).version(0).build();
+        booking = Booking.builder().id(1).start(now.plusHours(1)).end(now.plusHours(2)).item(item).booker(booker)
+                .status(BookingStatus.APPROVED).build();
+        comment = Comment.builder().id(1).text("Отличная дрель").item(item).author(booker).created(now).build();
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+
+        return BookingMapper.objectToDto(booking);
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+
+        return ItemMapper.objectToDto(item);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+
+        return CommentMapper.objectToDto(comment);
+    }
+}
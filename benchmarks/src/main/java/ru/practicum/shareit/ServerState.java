@@ -0,0 +1,73 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.datagen.DataGenerator;
+import ru.practicum.shareit.datagen.Volumes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The server's Spring context on an in-memory H2, seeded once per trial by {@link DataGenerator}. Run every benchmark
+ * with {@code mvn -Pbenchmarks -pl benchmarks -am verify -DskipTests}; JMH options go to {@code -Djmh.args}, for
+ * example {@code -Djmh.args="ItemService -prof gc -f 1"}. The default arguments add {@code -prof gc} and write
+ * {@code benchmarks/target/jmh-result.json}.
+ *
+ * <p>Owners and bookings are Zipf-distributed, so user 1 is the heaviest owner and item 1 the most booked item.
+ */
+@State(Scope.Benchmark)
+public class ServerState {
+
+    public static final int OWNER_ID = 1;
+    public static final int HOT_ITEM_ID = 1;
+
+    @Param("1000")
+    public int users;
+    @Param("10000")
+    public int items;
+    @Param("100000")
+    public int bookings;
+    @Param("20000")
+    public int comments;
+    @Param("5000")
+    public int requests;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            new DataGenerator(Volumes.builder()
+                    .users(users)
+                    .items(items)
+                    .bookings(bookings)
+                    .comments(comments)
+                    .requests(requests)
+                    .build())
+                    .generate(connection);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+
+        return context.getBean(type);
+    }
+}
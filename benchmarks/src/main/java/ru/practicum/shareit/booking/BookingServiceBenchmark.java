@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.ServerState;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /bookings/owner} for the heavy owner, one run per state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public String state;
+
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+
+        bookingService = server.getBean(BookingService.class);
+    }
+
+    @Benchmark
+    public List<BookingDto> getBookingsForUsersItems() {
+
+        return bookingService.getBookingsForUsersItems(ServerState.OWNER_ID, state, 0, 20);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.ServerState;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The owner's item page and the per-item enrichment it used to run for every item, here on the most booked item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ItemService itemService;
+    private Item item;
+    private List<Booking> bookings;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+
+        itemService = server.getBean(ItemService.class);
+        item = server.getBean(ItemRepository.class).findById(ServerState.HOT_ITEM_ID).orElseThrow();
+        bookings = server.getBean(BookingRepository.class).findAllByItemIn(List.of(item));
+    }
+
+    @Benchmark
+    public List<ItemDto> findAllByOwnerId() {
+
+        return itemService.findAllByOwnerId(ServerState.OWNER_ID, 0, pageSize);
+    }
+
+    @Benchmark
+    public ItemDto addData() {
+
+        return itemService.addData(item, bookings);
+    }
+}
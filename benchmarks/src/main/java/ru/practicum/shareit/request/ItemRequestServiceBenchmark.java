@@ -0,0 +1,40 @@
+package ru.practicum.shareit.request;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.ServerState;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The requestor's own requests ({@code GET /requests}) and a page of everyone else's ({@code GET /requests/all}),
+ * both with their items attached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+
+    private ItemRequestService itemRequestService;
+
+    @Setup(Level.Trial)
+    public void setUp(ServerState server) {
+
+        itemRequestService = server.getBean(ItemRequestService.class);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> findOwnRequests() {
+
+        return itemRequestService.findAllRequest(ServerState.OWNER_ID);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> findOtherRequests() {
+
+        return itemRequestService.findAllRequest(ServerState.OWNER_ID, 0, 20);
+    }
+}
@@ -0,0 +1,260 @@
+package ru.practicum.shareit.datagen;
+
+import org.flywaydb.core.Flyway;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds the server schema with synthetic users, requests, items, bookings and comments. Rows are appended after the
+ * existing ones and the identity columns are moved past them, so the server keeps working on the seeded database.
+ *
+ * <p>Owners and booked or commented items are drawn from a Zipf law (see {@link Volumes}). Each item's bookings are
+ * laid back to back, going back in time from up to two weeks ahead. A hot item therefore gets a history years long,
+ * and approved bookings never overlap.
+ *
+ * <p>Run from the repository root with
+ * {@code mvn -Pbenchmarks -pl datagen compile exec:java -Dexec.args="--url=jdbc:postgresql://localhost:6541/shareit
+ * --user=root --password=root --migrate --users=100000 --bookings=10000000"}. With {@code --migrate} the server's
+ * Flyway migrations are applied first, read from {@code --migrations} (default
+ * {@code server/src/main/resources/db/migration}). Rows go through {@code COPY} on PostgreSQL and through JDBC batches
+ * elsewhere; without {@code --url} the target is an H2 file under {@code target}.
+ */
+public class DataGenerator {
+
+    private static final String[] THINGS = {"Дрель", "Палатка", "Велосипед", "Лестница", "Перфоратор", "Самокат",
+            "Шуруповёрт", "Проектор", "Байдарка", "Гитара", "Мангал", "Болгарка"};
+    private static final String[] ADJECTIVES = {"Простая", "Мощная", "Компактная", "Новая", "Старая", "Лёгкая"};
+    private static final long HOUR = 60;
+    private static final long DAY = 24 * HOUR;
+
+    private final Volumes volumes;
+
+    public DataGenerator(Volumes volumes) {
+
+        this.volumes = volumes;
+    }
+
+    public static void main(String[] args) throws SQLException {
+
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+
+            options.put(option[0], option.length == 2 ? option[1] : "true");
+        }
+
+        Volumes.VolumesBuilder builder = Volumes.builder();
+
+        if (options.containsKey("users")) {
+            builder.users(Integer.parseInt(options.get("users")));
+        }
+        if (options.containsKey("items")) {
+            builder.items(Integer.parseInt(options.get("items")));
+        }
+        if (options.containsKey("bookings")) {
+            builder.bookings(Integer.parseInt(options.get("bookings")));
+        }
+        if (options.containsKey("comments")) {
+            builder.comments(Integer.parseInt(options.get("comments")));
+        }
+        if (options.containsKey("requests")) {
+            builder.requests(Integer.parseInt(options.get("requests")));
+        }
+        if (options.containsKey("skew")) {
+            builder.skew(Double.parseDouble(options.get("skew")));
+        }
+        if (options.containsKey("seed")) {
+            builder.seed(Long.parseLong(options.get("seed")));
+        }
+
+        String url = options.getOrDefault("url", "jdbc:h2:file:./target/shareit");
+        String user = options.getOrDefault("user", "sa");
+        String password = options.getOrDefault("password", "");
+
+        if (options.containsKey("migrate")) {
+            migrate(url, user, password,
+                    Path.of(options.getOrDefault("migrations", "server/src/main/resources/db/migration")));
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            new DataGenerator(builder.build()).generate(connection);
+        }
+    }
+
+    /**
+     * Applies the common migrations and the vendor ones next to them, as the server's
+     * {@code spring.flyway.locations} does; the vendor is the JDBC subprotocol, {@code h2} or {@code postgresql}.
+     */
+    public static void migrate(String url, String user, String password, Path migrations) {
+
+        Path vendor = migrations.resolve(url.split(":")[1]);
+        List<String> locations = new ArrayList<>();
+
+        locations.add("filesystem:" + migrations.resolve("common").toAbsolutePath());
+
+        if (Files.isDirectory(vendor)) {
+            locations.add("filesystem:" + vendor.toAbsolutePath());
+        }
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations(locations.toArray(new String[0]))
+                .load()
+                .migrate();
+    }
+
+    public void generate(Connection connection) throws SQLException {
+
+        SplittableRandom random = new SplittableRandom(volumes.getSeed());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        int firstUser = nextId(connection, "users", "user_id");
+        int firstRequest = nextId(connection, "requests", "request_id");
+        int firstItem = nextId(connection, "items", "item_id");
+        int firstBooking = nextId(connection, "bookings", "booking_id");
+        int firstComment = nextId(connection, "comments", "comment_id");
+        ZipfSampler owners = new ZipfSampler(volumes.getUsers(), volumes.getSkew());
+        ZipfSampler hotItems = new ZipfSampler(volumes.getItems(), volumes.getSkew());
+        int[] itemOwners = new int[volumes.getItems()];
+        long[] itemCursors = new long[volumes.getItems()];
+
+        System.out.println("Generating " + volumes);
+
+        long start = System.nanoTime();
+
+        try (RowWriter users = RowWriter.open(connection, "users", "user_id", "name", "email")) {
+            for (int i = 0; i < volumes.getUsers(); i++) {
+                int id = firstUser + i;
+
+                users.write(id, "user" + id, "user" + id + "@shareit.test");
+            }
+        }
+        start = report("users", volumes.getUsers(), start);
+
+        try (RowWriter requests = RowWriter.open(connection, "requests",
+                "request_id", "description", "created_date", "user_id")) {
+            for (int i = 0; i < volumes.getRequests(); i++) {
+                requests.write(firstRequest + i, "Хотел бы воспользоваться: " + THINGS[random.nextInt(THINGS.length)],
+                        now.minusMinutes(random.nextLong(365 * DAY)), firstUser + random.nextInt(volumes.getUsers()));
+            }
+        }
+        start = report("requests", volumes.getRequests(), start);
+
+        try (RowWriter items = RowWriter.open(connection, "items",
+                "item_id", "name", "description", "available", "user_id", "request_id")) {
+            for (int i = 0; i < volumes.getItems(); i++) {
+                String thing = THINGS[random.nextInt(THINGS.length)];
+                boolean requested = volumes.getRequests() > 0 && random.nextInt(10) == 0;
+
+                itemOwners[i] = firstUser + owners.sample(random) - 1;
+                itemCursors[i] = now.plusMinutes(random.nextLong(14 * DAY)).toEpochSecond(ZoneOffset.UTC) / 60;
+                items.write(firstItem + i, thing + " " + (firstItem + i),
+                        ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + thing.toLowerCase(),
+                        random.nextInt(10) != 0, itemOwners[i],
+                        requested ? firstRequest + random.nextInt(volumes.getRequests()) : null);
+            }
+        }
+        start = report("items", volumes.getItems(), start);
+
+        try (RowWriter bookings = RowWriter.open(connection, "bookings",
+                "booking_id", "start_date", "end_date", "status", "user_id", "item_id")) {
+            for (int i = 0; i < volumes.getBookings(); i++) {
+                int item = hotItems.sample(random) - 1;
+                long end = itemCursors[item];
+                long begin = end - HOUR - random.nextLong(7 * DAY);
+                LocalDateTime startDate = minutes(begin);
+
+                itemCursors[item] = begin - random.nextLong(3 * DAY);
+                bookings.write(firstBooking + i, startDate, minutes(end), status(random, startDate.isAfter(now)),
+                        booker(random, itemOwners[item], firstUser), firstItem + item);
+            }
+        }
+        start = report("bookings", volumes.getBookings(), start);
+
+        try (RowWriter comments = RowWriter.open(connection, "comments",
+                "comment_id", "text", "created", "user_id", "item_id")) {
+            for (int i = 0; i < volumes.getComments(); i++) {
+                int item = hotItems.sample(random) - 1;
+
+                comments.write(firstComment + i, "Отличная вещь, брал на " + (1 + random.nextInt(14)) + " дней",
+                        now.minusMinutes(random.nextLong(365 * DAY)), booker(random, itemOwners[item], firstUser),
+                        firstItem + item);
+            }
+        }
+        report("comments", volumes.getComments(), start);
+
+        restartIdentity(connection, "users", "user_id", firstUser + volumes.getUsers());
+        restartIdentity(connection, "requests", "request_id", firstRequest + volumes.getRequests());
+        restartIdentity(connection, "items", "item_id", firstItem + volumes.getItems());
+        restartIdentity(connection, "bookings", "booking_id", firstBooking + volumes.getBookings());
+        restartIdentity(connection, "comments", "comment_id", firstComment + volumes.getComments());
+    }
+
+    private static String status(SplittableRandom random, boolean future) {
+
+        int roll = random.nextInt(20);
+
+        if (future) {
+            return roll < 7 ? "WAITING" : "APPROVED";
+        }
+
+        return roll < 17 ? "APPROVED" : roll < 19 ? "REJECTED" : "CANCELED";
+    }
+
+    private int booker(SplittableRandom random, int owner, int firstUser) {
+
+        if (volumes.getUsers() == 1) {
+            return owner;
+        }
+
+        int booker = firstUser + random.nextInt(volumes.getUsers() - 1);
+
+        return booker >= owner ? booker + 1 : booker;
+    }
+
+    private static LocalDateTime minutes(long epochMinutes) {
+
+        return LocalDateTime.ofEpochSecond(epochMinutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static int nextId(Connection connection, String table, String column) throws SQLException {
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select coalesce(max(" + column + "), 0) from " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1) + 1;
+        }
+    }
+
+    private static void restartIdentity(Connection connection, String table, String column, int next)
+            throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table " + table + " alter column " + column + " restart with " + next);
+        }
+    }
+
+    private static long report(String table, int rows, long start) {
+
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(table + ": " + rows + " rows in " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+
+        return System.nanoTime();
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Appends rows to one table: through {@code COPY ... FROM STDIN} on PostgreSQL and through batched inserts anywhere
+ * else. Rows become visible when the writer is closed.
+ */
+abstract class RowWriter implements AutoCloseable {
+
+    static final int BATCH = 5_000;
+
+    protected final Connection connection;
+    protected int pending;
+
+    protected RowWriter(Connection connection) {
+
+        this.connection = connection;
+    }
+
+    static RowWriter open(Connection connection, String table, String... columns) throws SQLException {
+
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new Copy(connection, table, columns);
+        }
+
+        return new Batch(connection, table, columns);
+    }
+
+    abstract void write(Object... values) throws SQLException;
+
+    @Override
+    public abstract void close() throws SQLException;
+
+    private static final class Batch extends RowWriter {
+
+        private final PreparedStatement statement;
+
+        private Batch(Connection connection, String table, String... columns) throws SQLException {
+
+            super(connection);
+            connection.setAutoCommit(false);
+            statement = connection.prepareStatement("insert into " + table + " (" + String.join(", ", columns)
+                    + ") values (" + "?, ".repeat(columns.length - 1) + "?)");
+        }
+
+        @Override
+        void write(Object... values) throws SQLException {
+
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+
+                statement.setObject(i + 1, value instanceof LocalDateTime ? Timestamp.valueOf((LocalDateTime) value)
+                        : value);
+            }
+            statement.addBatch();
+            if (++pending == BATCH) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+
+            try (statement) {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static final class Copy extends RowWriter {
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder();
+
+        private Copy(Connection connection, String table, String... columns) throws SQLException {
+
+            super(connection);
+            copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn("copy " + table + " ("
+                    + String.join(", ", columns) + ") from stdin with (format csv)");
+        }
+
+        @Override
+        void write(Object... values) throws SQLException {
+
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                if (values[i] instanceof String) {
+                    buffer.append('"').append(((String) values[i]).replace("\"", "\"\"")).append('"');
+                } else if (values[i] != null) {
+                    buffer.append(values[i]);
+                }
+            }
+            buffer.append('\n');
+            if (++pending == BATCH) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+
+            try {
+                if (pending > 0) {
+                    flush();
+                }
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        }
+    }
+}
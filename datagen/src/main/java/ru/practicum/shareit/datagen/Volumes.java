@@ -0,0 +1,30 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * How much to generate and how skewed it is. Owners and booked or commented items follow a Zipf law with exponent
+ * {@code skew}: rank 1 is the hottest, so user 1 owns the most items and item 1 has the longest booking history.
+ */
+@Getter
+@Builder
+@ToString
+public class Volumes {
+
+    @Builder.Default
+    private final int users = 10_000;
+    @Builder.Default
+    private final int items = 100_000;
+    @Builder.Default
+    private final int bookings = 1_000_000;
+    @Builder.Default
+    private final int comments = 200_000;
+    @Builder.Default
+    private final int requests = 50_000;
+    @Builder.Default
+    private final double skew = 1.0;
+    @Builder.Default
+    private final long seed = 42;
+}
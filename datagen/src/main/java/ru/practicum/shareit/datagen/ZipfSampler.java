@@ -0,0 +1,44 @@
+package ru.practicum.shareit.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 1..n with probability proportional to {@code 1 / rank^skew}, by binary search over the cumulative
+ * distribution. Eight bytes per rank, so a few million ranks stay well under the default heap.
+ */
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double skew) {
+
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf needs at least one rank, got " + n);
+        }
+
+        cumulative = new double[n];
+
+        double sum = 0;
+
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1 / Math.pow(rank, skew);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    public int sample(SplittableRandom random) {
+
+        return sample(random.nextDouble());
+    }
+
+    public int sample(double uniform) {
+
+        int index = Arrays.binarySearch(cumulative, uniform);
+
+        return Math.min(index >= 0 ? index + 1 : -index, cumulative.length);
+    }
+}
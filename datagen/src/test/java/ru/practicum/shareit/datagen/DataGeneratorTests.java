@@ -0,0 +1,93 @@
+package ru.practicum.shareit.datagen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataGeneratorTests {
+
+    private static final String URL = "jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1";
+
+    private final Volumes volumes = Volumes.builder()
+            .users(200)
+            .items(1_000)
+            .bookings(20_000)
+            .comments(2_000)
+            .requests(300)
+            .build();
+
+    @BeforeEach
+    void beforeEach() throws SQLException {
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        DataGenerator.migrate(URL, "sa", "", Path.of("../server/src/main/resources/db/migration"));
+    }
+
+    @Test
+    public void generate_insertsTheRequestedVolumes_andMovesTheIdentitiesPastThem() throws SQLException {
+
+        //when
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            new DataGenerator(volumes).generate(connection);
+
+            //then
+            assertEquals(count(connection, "select count(*) from users"), 200);
+            assertEquals(count(connection, "select count(*) from items"), 1_000);
+            assertEquals(count(connection, "select count(*) from bookings"), 20_000);
+            assertEquals(count(connection, "select count(*) from comments"), 2_000);
+            assertEquals(count(connection, "select count(*) from requests"), 300);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("insert into users (name, email) values ('new', 'new@user.com')",
+                        Statement.RETURN_GENERATED_KEYS);
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    keys.next();
+                    assertEquals(keys.getInt(1), 201);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void generate_skewsOwnersAndBookings_withoutOverlappingApprovedBookings() throws SQLException {
+
+        //when
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            new DataGenerator(volumes).generate(connection);
+
+            //then
+            long topOwnerItems = count(connection, "select count(*) from items where user_id = 1");
+            long medianOwnerItems = count(connection, "select count(*) from items where user_id = 100");
+            long hotItemBookings = count(connection, "select count(*) from bookings where item_id = 1");
+
+            assertTrue(topOwnerItems > 10 * Math.max(medianOwnerItems, 1));
+            assertTrue(hotItemBookings > 20_000 / 1_000 * 20);
+            assertEquals(count(connection, "select count(*) from bookings b join items i on i.item_id = b.item_id "
+                    + "where b.user_id = i.user_id"), 0);
+            assertEquals(count(connection, "select count(*) from bookings a join bookings b "
+                    + "on a.item_id = b.item_id and a.booking_id < b.booking_id "
+                    + "and a.status = 'APPROVED' and b.status = 'APPROVED' "
+                    + "and a.start_date < b.end_date and b.start_date < a.end_date "
+                    + "where a.item_id <= 5"), 0);
+            assertTrue(count(connection, "select count(*) from bookings "
+                    + "where start_date < current_timestamp and end_date > current_timestamp") > 0);
+            assertTrue(count(connection, "select count(*) from bookings where start_date > current_timestamp") > 0);
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
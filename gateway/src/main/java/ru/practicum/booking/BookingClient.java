@@ -1,16 +1,18 @@
 package ru.practicum.booking;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.http.client.HttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.client.ServerProxy;
 
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,12 +25,18 @@ public class BookingClient {
     String serverUrl;
 
     private final RestTemplate rest;
+    private final ServerProxy serverProxy;
 
-    public BookingClient() {
-        this.rest = new RestTemplate();
-        HttpClient httpClient = HttpClientBuilder.create().build();
-        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-        rest.setRequestFactory(requestFactory);
+    public BookingClient(ClientHttpRequestFactory serverRequestFactory, ServerProxy serverProxy) {
+        this.serverProxy = serverProxy;
+        this.rest = new RestTemplate(serverRequestFactory);
+    }
+
+    public void exportBookings(OutputStream outputStream) {
+
+        rest.execute(serverUrl + "/bookings/export", HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.parseMediaType("application/x-ndjson"))),
+                response -> StreamUtils.copy(response.getBody(), outputStream));
     }
 
     public <T> ResponseEntity<Object> findBookingById(int bookingId, Integer userId, @Nullable T body) {
@@ -48,7 +56,7 @@ public class BookingClient {
         return responseRequest(url, HttpMethod.POST, requestEntity, null);
     }
 
-    public <T> Object updateBooking(Integer userId, Integer bookingId, Boolean available, @Nullable T body) {
+    public <T> ResponseEntity<Object> updateBooking(Integer userId, Integer bookingId, Boolean available, @Nullable T body) {
 
         String url = serverUrl + "/bookings/{bookingId}?approved=" + available;
         HashMap<String, Integer> params = new HashMap<>(Map.of("bookingId", bookingId));
@@ -57,28 +65,44 @@ public class BookingClient {
         return responseRequest(url, HttpMethod.PATCH, requestEntity, params);
     }
 
-    public <T> void deleteBooking(int bookingId, Integer userId, @Nullable T body) {
+    public <T> ResponseEntity<Object> deleteBooking(int bookingId, Integer userId, @Nullable T body) {
 
         HashMap<String, Integer> params = new HashMap<>(Map.of("bookingId", bookingId));
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        String url = serverUrl + "/bookings/{bookingId}";
 
-        rest.delete(serverUrl + "/bookings/{bookingId}", requestEntity, params);
+        return responseRequest(url, HttpMethod.DELETE, requestEntity, params);
     }
 
-    public <T> ResponseEntity<Object> getUsersBooking(Integer userId, String state, Integer from, Integer size, @Nullable T body) {
+    public <T> ResponseEntity<Object> getUsersBooking(Integer userId, String state, Integer from, Integer size,
+                                                      @Nullable String after, @Nullable T body) {
 
-        String url = serverUrl + "/bookings?from=" + from + "&size=" + size + "&state=" + state;
+        String url = pageUrl("/bookings", state, from, size, after);
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        return responseRequest(url, HttpMethod.GET, requestEntity, null);
+        return responseRequest(url, HttpMethod.GET, requestEntity, after == null ? null : Map.of("after", after));
     }
 
-    public <T> ResponseEntity<Object> getBookingsForUsersItems(Integer userId, String state, Integer from, Integer size, @Nullable T body) {
+    public <T> ResponseEntity<Object> getBookingsForUsersItems(Integer userId, String state, Integer from, Integer size,
+                                                               @Nullable String after, @Nullable T body) {
 
-        String url = serverUrl + "/bookings/owner?from=" + from + "&size=" + size + "&state=" + state;
+        String url = pageUrl("/bookings/owner", state, from, size, after);
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        return responseRequest(url, HttpMethod.GET, requestEntity, null);
+        return responseRequest(url, HttpMethod.GET, requestEntity, after == null ? null : Map.of("after", after));
+    }
+
+    /**
+     * The page query, with {@code after} as a URI variable so that expanding the template encodes it.
+     */
+    private String pageUrl(String path, String state, Integer from, Integer size, @Nullable String after) {
+
+        return UriComponentsBuilder.fromHttpUrl(serverUrl).path(path)
+                .queryParam("state", state)
+                .queryParam("size", size)
+                .queryParam(after == null ? "from" : "after", after == null ? from : "{after}")
+                .build()
+                .toUriString();
     }
 
     private HttpHeaders defaultHeaders(Integer userId) {
@@ -95,7 +119,20 @@ public class BookingClient {
         return headers;
     }
 
-    private <T> ResponseEntity<Object> responseRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, HashMap<String, Integer> params) {
+    private <T> ResponseEntity<Object> responseRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, Map<String, ?> params) {
+
+        if (serverProxy.isReactive()) {
+            return serverProxy.exchangeDeferred(url, httpMethod, requestEntity, params);
+        }
+
+        return blockingRequest(url, httpMethod, requestEntity, params);
+    }
+
+    private <T> ResponseEntity<Object> blockingRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, Map<String, ?> params) {
+
+        if (serverProxy.isStreaming()) {
+            return serverProxy.exchange(url, httpMethod, requestEntity, params);
+        }
 
         ResponseEntity<Object> response;
 
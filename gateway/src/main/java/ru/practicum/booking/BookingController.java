@@ -1,8 +1,10 @@
 package ru.practicum.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 
@@ -13,6 +15,14 @@ public class BookingController {
 
     private final BookingClient bookingClient;
 
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(bookingClient::exportBookings);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> findBookingById(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
                                                   @PathVariable int bookingId) {
@@ -28,36 +38,38 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public Object updateBooking(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
-                                @PathVariable("bookingId") Integer bookingId,
-                                @RequestParam(name = "approved") Boolean available) {
+    public ResponseEntity<Object> updateBooking(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
+                                                @PathVariable("bookingId") Integer bookingId,
+                                                @RequestParam(name = "approved") Boolean available) {
 
         return bookingClient.updateBooking(userId, bookingId, available, null);
     }
 
 
     @DeleteMapping("/{bookingId}")
-    public void deleteBooking(@PathVariable int bookingId,
-                              @RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public ResponseEntity<Object> deleteBooking(@PathVariable int bookingId,
+                                                @RequestHeader("X-Sharer-User-Id") Integer userId) {
 
-        bookingClient.deleteBooking(bookingId, userId, null);
+        return bookingClient.deleteBooking(bookingId, userId, null);
     }
 
     @GetMapping
     public ResponseEntity<Object> getBookingsForUser(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
                                                      @RequestParam(name = "state", defaultValue = "ALL") String state,
                                                      @RequestParam(value = "from", defaultValue = "0") Integer from,
-                                                     @RequestParam(value = "size", defaultValue = "10") Integer size) {
+                                                     @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                     @RequestParam(value = "after", required = false) String after) {
 
-        return bookingClient.getUsersBooking(userId, state, from, size, null);
+        return bookingClient.getUsersBooking(userId, state, from, size, after, null);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingsForUsersItems(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
                                                            @RequestParam(name = "state", defaultValue = "ALL") String state,
                                                            @RequestParam(value = "from", defaultValue = "0") Integer from,
-                                                           @RequestParam(value = "size", defaultValue = "10") Integer size) {
+                                                           @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                           @RequestParam(value = "after", required = false) String after) {
 
-        return bookingClient.getBookingsForUsersItems(userId, state, from, size, null);
+        return bookingClient.getBookingsForUsersItems(userId, state, from, size, after, null);
     }
 }
@@ -0,0 +1,181 @@
+package ru.practicum.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriTemplateHandler;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pass-through mode for the gateway clients: the server's status, headers and body bytes are copied to the caller
+ * without deserializing the JSON. Enabled by default, {@code shareit-server.proxy-mode=buffered} restores the old
+ * exchange-to-Object path and {@code shareit-server.proxy-mode=reactive} sends the calls through {@link WebClient},
+ * so no servlet thread waits for the server. The blocking modes return the {@link ResponseEntity} directly; reactive
+ * mode keeps the controllers' {@code ResponseEntity<Object>} signatures through {@link #exchangeDeferred}, so only
+ * that mode goes through an async dispatch. Reactive bodies are buffered up to
+ * {@code shareit-server.http-client.max-in-memory-size}.
+ */
+@Service
+public class ServerProxy {
+
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
+    private final ClientHttpRequestFactory requestFactory;
+    private final UriTemplateHandler uriTemplateHandler = new DefaultUriBuilderFactory();
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final boolean streaming;
+    private final boolean reactive;
+
+    public ServerProxy(ClientHttpRequestFactory serverRequestFactory, WebClient serverWebClient, ObjectMapper objectMapper,
+                       @Value("${shareit-server.proxy-mode:streaming}") String proxyMode) {
+
+        this.requestFactory = serverRequestFactory;
+        this.webClient = serverWebClient;
+        this.objectMapper = objectMapper;
+        this.streaming = "streaming".equalsIgnoreCase(proxyMode);
+        this.reactive = "reactive".equalsIgnoreCase(proxyMode);
+    }
+
+    public boolean isStreaming() {
+
+        return streaming;
+    }
+
+    public boolean isReactive() {
+
+        return reactive;
+    }
+
+    public <T> Mono<ResponseEntity<Object>> exchangeAsync(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity,
+                                                          @Nullable Map<String, ?> params) {
+
+        URI uri = params != null ? uriTemplateHandler.expand(url, params) : uriTemplateHandler.expand(url);
+        WebClient.RequestBodySpec request = webClient.method(httpMethod)
+                .uri(uri)
+                .headers(headers -> headers.putAll(requestEntity.getHeaders()));
+        WebClient.RequestHeadersSpec<?> spec = requestEntity.hasBody() ? request.bodyValue(requestEntity.getBody()) : request;
+
+        return spec.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> ResponseEntity.status(response.getStatusCodeValue())
+                        .headers(forwardedHeaders(response.getHeaders()))
+                        .body(response.getBody()));
+    }
+
+    /**
+     * Adapts {@link #exchangeAsync} to a handler returning {@code ResponseEntity<Object>}: starts async processing of
+     * the current request with a {@link DeferredResult} completed by the WebClient exchange, and returns {@code null},
+     * which leaves the response to the async dispatch.
+     */
+    @Nullable
+    public <T> ResponseEntity<Object> exchangeDeferred(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity,
+                                                       @Nullable Map<String, ?> params) {
+
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getRequest();
+        DeferredResult<ResponseEntity<Object>> result = new DeferredResult<>();
+
+        try {
+            // The handler adapter restores its model from this context on dispatch; a ResponseEntity needs none
+            WebAsyncUtils.getAsyncManager(request).startDeferredResultProcessing(result, new ModelAndViewContainer());
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not start async processing of " + request.getRequestURI(), e);
+        }
+
+        exchangeAsync(url, httpMethod, requestEntity, params).subscribe(result::setResult, result::setErrorResult);
+
+        return null;
+    }
+
+    public <T> ResponseEntity<Object> exchange(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity,
+                                               @Nullable Map<String, ?> params) {
+
+        URI uri = params != null ? uriTemplateHandler.expand(url, params) : uriTemplateHandler.expand(url);
+        ClientHttpResponse response;
+
+        try {
+            ClientHttpRequest request = requestFactory.createRequest(uri, httpMethod);
+
+            request.getHeaders().putAll(requestEntity.getHeaders());
+            if (requestEntity.hasBody()) {
+                objectMapper.writer()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .writeValue(request.getBody(), requestEntity.getBody());
+            }
+
+            response = request.execute();
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + httpMethod + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+
+        try {
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(forwardedHeaders(response.getHeaders()))
+                    .body(new InputStreamResource(new ResponseBodyStream(response)));
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("I/O error reading the response of \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    private static HttpHeaders forwardedHeaders(HttpHeaders responseHeaders) {
+
+        HttpHeaders headers = new HttpHeaders();
+
+        responseHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+
+        return headers;
+    }
+
+    private static final class ResponseBodyStream extends FilterInputStream {
+
+        private final ClientHttpResponse response;
+
+        private ResponseBodyStream(ClientHttpResponse response) throws IOException {
+
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            try {
+                super.close();
+            } finally {
+                response.close();
+            }
+        }
+    }
+}
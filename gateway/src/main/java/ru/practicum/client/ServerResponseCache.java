@@ -0,0 +1,330 @@
+package ru.practicum.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Gateway-side cache for the hot idempotent reads: {@code /items/{id}}, {@code /items/search}, {@code /requests/all}
+ * and {@code /users/{id}}. A cached entry is revalidated with {@code If-None-Match} and served from memory on 304;
+ * writes to the server through the gateway evict the entries they can change. Bounded by body bytes.
+ */
+@Component
+public class ServerResponseCache implements ClientHttpRequestInterceptor {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final List<Route> ROUTES = List.of(
+            new Route(Pattern.compile("/items/\\d+"), true),
+            new Route(Pattern.compile("/items/search"), false),
+            new Route(Pattern.compile("/requests/all"), true),
+            new Route(Pattern.compile("/users/\\d+"), false));
+    private static final Pattern ITEM_PATH = Pattern.compile("/items/\\d+");
+
+    private final Cache<Key, Entry> cache;
+    private final boolean enabled;
+    private final long freshForNanos;
+    private final Counter notModified;
+    private final Counter modified;
+
+    public ServerResponseCache(MeterRegistry meterRegistry,
+                               @Value("${shareit-server.cache.enabled:true}") boolean enabled,
+                               @Value("${shareit-server.cache.max-size:64MB}") DataSize maxSize,
+                               @Value("${shareit-server.cache.fresh-for:0s}") Duration freshFor) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Entry entry) -> entry.body.length + key.path.length() + key.query.length())
+                .recordStats()
+                .build();
+        this.enabled = enabled;
+        this.freshForNanos = freshFor.toNanos();
+        this.notModified = meterRegistry.counter("gateway.cache.revalidations", "result", "not_modified");
+        this.modified = meterRegistry.counter("gateway.cache.revalidations", "result", "modified");
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+
+        if (!enabled) {
+            return execution.execute(request, body);
+        }
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+
+            invalidate(request.getMethod(), request.getURI());
+            return response;
+        }
+
+        Key key = keyFor(request.getURI(), request.getHeaders());
+
+        if (key == null) {
+            return execution.execute(request, body);
+        }
+
+        Entry cached = cache.getIfPresent(key);
+
+        if (cached != null && cached.isFresh(freshForNanos)) {
+            return new CachedResponse(cached);
+        }
+        if (cached != null) {
+            request.getHeaders().setIfNoneMatch(cached.etag);
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+
+        if (cached != null && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            response.close();
+            notModified.increment();
+            return new CachedResponse(revalidated(key, cached));
+        }
+
+        String etag = response.getHeaders().getETag();
+
+        if (response.getRawStatusCode() != HttpStatus.OK.value() || etag == null) {
+            cache.invalidate(key);
+            return response;
+        }
+
+        try (response) {
+            Entry entry = new Entry(response.getHeaders(), StreamUtils.copyToByteArray(response.getBody()), etag);
+
+            store(key, entry, cached != null);
+            return new CachedResponse(entry);
+        }
+    }
+
+    public ExchangeFilterFunction exchangeFilter() {
+
+        return (request, next) -> {
+            if (!enabled) {
+                return next.exchange(request);
+            }
+            if (request.method() != HttpMethod.GET) {
+                return next.exchange(request).doOnNext(response -> invalidate(request.method(), request.url()));
+            }
+
+            Key key = keyFor(request.url(), request.headers());
+
+            if (key == null) {
+                return next.exchange(request);
+            }
+
+            Entry cached = cache.getIfPresent(key);
+
+            if (cached != null && cached.isFresh(freshForNanos)) {
+                return Mono.just(cached.toClientResponse());
+            }
+
+            ClientRequest conditional = cached == null ? request : ClientRequest.from(request)
+                    .headers(headers -> headers.setIfNoneMatch(cached.etag))
+                    .build();
+
+            return next.exchange(conditional).flatMap(response -> {
+                if (cached != null && response.rawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                    notModified.increment();
+                    return response.releaseBody().thenReturn(revalidated(key, cached).toClientResponse());
+                }
+
+                String etag = response.headers().asHttpHeaders().getETag();
+
+                if (response.rawStatusCode() != HttpStatus.OK.value() || etag == null) {
+                    cache.invalidate(key);
+                    return Mono.just(response);
+                }
+
+                return response.bodyToMono(byte[].class)
+                        .defaultIfEmpty(new byte[0])
+                        .map(bytes -> {
+                            Entry entry = new Entry(response.headers().asHttpHeaders(), bytes, etag);
+
+                            store(key, entry, cached != null);
+                            return entry.toClientResponse();
+                        });
+            });
+        };
+    }
+
+    private void store(Key key, Entry entry, boolean revalidation) {
+
+        if (revalidation) {
+            modified.increment();
+        }
+        cache.put(key, entry);
+    }
+
+    private Entry revalidated(Key key, Entry cached) {
+
+        Entry entry = cached.revalidated();
+
+        cache.put(key, entry);
+        return entry;
+    }
+
+    private void invalidate(@Nullable HttpMethod method, URI uri) {
+
+        String path = uri.getPath();
+
+        if (path.startsWith("/users")) {
+            if (method != HttpMethod.POST) {
+                cache.invalidateAll();
+            }
+        } else if (path.startsWith("/items")) {
+            String itemPath = path.endsWith("/comment") ? path.substring(0, path.length() - "/comment".length()) : path;
+
+            cache.asMap().keySet().removeIf(key -> key.path.equals(itemPath)
+                    || key.path.equals("/items/search") || key.path.startsWith("/requests"));
+        } else if (path.startsWith("/bookings")) {
+            cache.asMap().keySet().removeIf(key -> ITEM_PATH.matcher(key.path).matches());
+        } else if (path.startsWith("/requests")) {
+            cache.asMap().keySet().removeIf(key -> key.path.startsWith("/requests"));
+        }
+    }
+
+    @Nullable
+    private static Key keyFor(URI uri, HttpHeaders headers) {
+
+        String path = uri.getPath();
+
+        for (Route route : ROUTES) {
+            if (route.path.matcher(path).matches()) {
+                String user = route.userDependent ? headers.getFirst(USER_HEADER) : null;
+
+                return new Key(path, uri.getRawQuery() == null ? "" : uri.getRawQuery(), user == null ? "" : user);
+            }
+        }
+
+        return null;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Route {
+
+        private final Pattern path;
+        private final boolean userDependent;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+
+        private final String path;
+        private final String query;
+        private final String user;
+    }
+
+    private static final class Entry {
+
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final String etag;
+        private final long validatedAt;
+
+        private Entry(HttpHeaders headers, byte[] body, String etag) {
+
+            this(headers, body, etag, System.nanoTime());
+        }
+
+        private Entry(HttpHeaders headers, byte[] body, String etag, long validatedAt) {
+
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.body = body;
+            this.etag = etag;
+            this.validatedAt = validatedAt;
+        }
+
+        private boolean isFresh(long freshForNanos) {
+
+            return freshForNanos > 0 && System.nanoTime() - validatedAt < freshForNanos;
+        }
+
+        private Entry revalidated() {
+
+            return new Entry(headers, body, etag, System.nanoTime());
+        }
+
+        private ClientResponse toClientResponse() {
+
+            return ClientResponse.create(HttpStatus.OK)
+                    .headers(headers -> headers.addAll(this.headers))
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                    .build();
+        }
+    }
+
+    private static final class CachedResponse implements ClientHttpResponse {
+
+        private final Entry entry;
+
+        private CachedResponse(Entry entry) {
+
+            this.entry = entry;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+
+            return entry.headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+
+            return new ByteArrayInputStream(entry.body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
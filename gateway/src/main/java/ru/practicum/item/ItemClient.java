@@ -1,15 +1,14 @@
 package ru.practicum.item;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.http.client.HttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.client.ServerProxy;
 
 import java.util.HashMap;
 import java.util.List;
@@ -23,12 +22,11 @@ public class ItemClient {
     String serverUrl;
 
     private final RestTemplate rest;
+    private final ServerProxy serverProxy;
 
-    public ItemClient() {
-        this.rest = new RestTemplate();
-        HttpClient httpClient = HttpClientBuilder.create().build();
-        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-        rest.setRequestFactory(requestFactory);
+    public ItemClient(ClientHttpRequestFactory serverRequestFactory, ServerProxy serverProxy) {
+        this.serverProxy = serverProxy;
+        this.rest = new RestTemplate(serverRequestFactory);
     }
 
     public <T> ResponseEntity<Object> findAllByOwnerId(Integer userId, Integer from, Integer size, @Nullable T body) {
@@ -65,7 +63,7 @@ public class ItemClient {
         return responseRequest(url, HttpMethod.POST, requestEntity, params);
     }
 
-    public <T> Object updateItem(Integer userId, @Nullable T body, int itemId) {
+    public <T> ResponseEntity<Object> updateItem(Integer userId, @Nullable T body, int itemId) {
 
         HashMap<String, Integer> params = new HashMap<>(Map.of("itemId", itemId));
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
@@ -74,12 +72,13 @@ public class ItemClient {
         return responseRequest(url, HttpMethod.PATCH, requestEntity, params);
     }
 
-    public <T> void deleteItem(int itemId, Integer userId, @Nullable T body) {
+    public <T> ResponseEntity<Object> deleteItem(int itemId, Integer userId, @Nullable T body) {
 
         HashMap<String, Integer> params = new HashMap<>(Map.of("itemId", itemId));
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        String url = serverUrl + "/items/{itemId}";
 
-        rest.delete(serverUrl + "/items/{itemId}", requestEntity, params);
+        return responseRequest(url, HttpMethod.DELETE, requestEntity, params);
     }
 
     public <T> ResponseEntity<Object> searchItems(String text, Integer from, Integer size, Integer userId, @Nullable T body) {
@@ -106,6 +105,19 @@ public class ItemClient {
 
     private <T> ResponseEntity<Object> responseRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, HashMap<String, Integer> params) {
 
+        if (serverProxy.isReactive()) {
+            return serverProxy.exchangeDeferred(url, httpMethod, requestEntity, params);
+        }
+
+        return blockingRequest(url, httpMethod, requestEntity, params);
+    }
+
+    private <T> ResponseEntity<Object> blockingRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, HashMap<String, Integer> params) {
+
+        if (serverProxy.isStreaming()) {
+            return serverProxy.exchange(url, httpMethod, requestEntity, params);
+        }
+
         ResponseEntity<Object> response;
 
         try {
@@ -45,19 +45,19 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public Object updateItem(@PathVariable int itemId,
-                             @RequestBody ItemDto dto,
-                             @RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public ResponseEntity<Object> updateItem(@PathVariable int itemId,
+                                             @RequestBody ItemDto dto,
+                                             @RequestHeader("X-Sharer-User-Id") Integer userId) {
 
 
         return itemClient.updateItem(userId, dto, itemId);
     }
 
     @DeleteMapping("/{itemId}")
-    public void deleteItem(@PathVariable int itemId,
-                           @RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public ResponseEntity<Object> deleteItem(@PathVariable int itemId,
+                                             @RequestHeader("X-Sharer-User-Id") Integer userId) {
 
-        itemClient.deleteItem(itemId, userId, null);
+        return itemClient.deleteItem(itemId, userId, null);
     }
 
     @GetMapping("/search")
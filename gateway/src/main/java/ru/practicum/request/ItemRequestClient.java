@@ -1,15 +1,15 @@
 package ru.practicum.request;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.http.client.HttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.client.ServerProxy;
 
 import java.util.HashMap;
 import java.util.List;
@@ -23,12 +23,11 @@ public class ItemRequestClient {
     String serverUrl;
 
     private final RestTemplate rest;
+    private final ServerProxy serverProxy;
 
-    public ItemRequestClient() {
-        this.rest = new RestTemplate();
-        HttpClient httpClient = HttpClientBuilder.create().build();
-        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-        rest.setRequestFactory(requestFactory);
+    public ItemRequestClient(ClientHttpRequestFactory serverRequestFactory, ServerProxy serverProxy) {
+        this.serverProxy = serverProxy;
+        this.rest = new RestTemplate(serverRequestFactory);
     }
 
     public <T> ResponseEntity<Object> findAllRequest(Integer userId, @Nullable T body) {
@@ -39,12 +38,13 @@ public class ItemRequestClient {
         return responseRequest(url, HttpMethod.GET, requestEntity, null);
     }
 
-    public <T> ResponseEntity<Object> findAllRequest(Integer userId, Integer from, Integer size, @Nullable T body) {
+    public <T> ResponseEntity<Object> findAllRequest(Integer userId, Integer from, Integer size,
+                                                     @Nullable String after, @Nullable T body) {
 
-        String url = serverUrl + "/requests/all?from=" + from + "&size=" + size;
+        String url = pageUrl("/requests/all", from, size, after);
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        return responseRequest(url, HttpMethod.GET, requestEntity, null);
+        return responseRequest(url, HttpMethod.GET, requestEntity, after == null ? null : Map.of("after", after));
     }
 
     public <T> ResponseEntity<Object> findRequestById(int itemRequestId, Integer userId, @Nullable T body) {
@@ -72,11 +72,22 @@ public class ItemRequestClient {
         return responseRequest(url, HttpMethod.PUT, requestEntity, null);
     }
 
-    public void deleteRequest(int itemRequestId) {
+    public ResponseEntity<Object> deleteRequest(int itemRequestId) {
 
         HashMap<String, Integer> params = new HashMap<>(Map.of("itemRequestId", itemRequestId));
+        HttpEntity<Object> requestEntity = new HttpEntity<>(null, defaultHeaders(null));
+        String url = serverUrl + "/requests/{itemRequestId}";
+
+        return responseRequest(url, HttpMethod.DELETE, requestEntity, params);
+    }
+
+    private String pageUrl(String path, Integer from, Integer size, @Nullable String after) {
 
-        rest.delete(serverUrl + "/requests/{itemRequestId}", params);
+        return UriComponentsBuilder.fromHttpUrl(serverUrl).path(path)
+                .queryParam("size", size)
+                .queryParam(after == null ? "from" : "after", after == null ? from : "{after}")
+                .build()
+                .toUriString();
     }
 
     private HttpHeaders defaultHeaders(Integer userId) {
@@ -93,7 +104,20 @@ public class ItemRequestClient {
         return headers;
     }
 
-    private <T> ResponseEntity<Object> responseRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, HashMap<String, Integer> params) {
+    private <T> ResponseEntity<Object> responseRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, Map<String, ?> params) {
+
+        if (serverProxy.isReactive()) {
+            return serverProxy.exchangeDeferred(url, httpMethod, requestEntity, params);
+        }
+
+        return blockingRequest(url, httpMethod, requestEntity, params);
+    }
+
+    private <T> ResponseEntity<Object> blockingRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, Map<String, ?> params) {
+
+        if (serverProxy.isStreaming()) {
+            return serverProxy.exchange(url, httpMethod, requestEntity, params);
+        }
 
         ResponseEntity<Object> response;
 
@@ -22,9 +22,10 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> findAllRequest(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
                                                  @RequestParam(value = "from", defaultValue = "0") Integer from,
-                                                 @RequestParam(value = "size", defaultValue = "10") Integer size) {
+                                                 @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                 @RequestParam(value = "after", required = false) String after) {
 
-        return itemRequestClient.findAllRequest(userId, from, size, null);
+        return itemRequestClient.findAllRequest(userId, from, size, after, null);
     }
 
     @GetMapping("/{itemRequestId}")
@@ -49,8 +50,8 @@ public class ItemRequestController {
     }
 
     @DeleteMapping("/{itemRequestId}")
-    public void deleteRequest(@PathVariable int itemRequestId) {
+    public ResponseEntity<Object> deleteRequest(@PathVariable int itemRequestId) {
 
-        itemRequestClient.deleteRequest(itemRequestId);
+        return itemRequestClient.deleteRequest(itemRequestId);
     }
 }
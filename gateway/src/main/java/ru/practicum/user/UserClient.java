@@ -2,17 +2,16 @@ package ru.practicum.user;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.apache.http.client.HttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.client.ServerProxy;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -23,76 +22,84 @@ public class UserClient {
     String serverUrl;
 
     private final RestTemplate rest;
+    private final ServerProxy serverProxy;
 
-    public UserClient() {
-        this.rest = new RestTemplate();
-        HttpClient httpClient = HttpClientBuilder.create().build();
-        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-        rest.setRequestFactory(requestFactory);
+    public UserClient(ClientHttpRequestFactory serverRequestFactory, ServerProxy serverProxy) {
+        this.serverProxy = serverProxy;
+        this.rest = new RestTemplate(serverRequestFactory);
     }
 
     public ResponseEntity<Object> findAllUsers() {
 
-        ResponseEntity<Object> response = rest.getForEntity(serverUrl + "/users", Object.class);
+        HttpEntity<UserDto> requestEntity = new HttpEntity<>(null, defaultHeaders());
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
-
-        return responseBuilder.build();
+        return responseRequest(serverUrl + "/users", HttpMethod.GET, requestEntity, null);
     }
 
     public ResponseEntity<Object> findUserById(int userId) {
 
         HashMap<String, Integer> params = new HashMap<>(Map.of("userId", userId));
+        HttpEntity<UserDto> requestEntity = new HttpEntity<>(null, defaultHeaders());
 
-        ResponseEntity<Object> response;
+        return responseRequest(serverUrl + "/users/{userId}", HttpMethod.GET, requestEntity, params);
+    }
 
-        try {
-            response = rest.getForEntity(serverUrl + "/users/{userId}", Object.class, params);
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
+    public ResponseEntity<Object> createUser(UserDto newUser) {
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        HttpEntity<UserDto> requestEntity = new HttpEntity<>(newUser, defaultHeaders());
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
+        return responseRequest(serverUrl + "/users", HttpMethod.POST, requestEntity, null);
+    }
 
-        return responseBuilder.build();
+    public ResponseEntity<Object> updateUser(UserDto newUser, int userId) {
+
+        HashMap<String, Integer> params = new HashMap<>(Map.of("userId", userId));
+        HttpEntity<UserDto> requestEntity = new HttpEntity<>(newUser, defaultHeaders());
+
+        return responseRequest(serverUrl + "/users/{userId}", HttpMethod.PATCH, requestEntity, params);
     }
 
-    public ResponseEntity<Object> createUser(UserDto newUser) {
+    public ResponseEntity<Object> deleteUser(int userId) {
 
-        ResponseEntity<Object> response;
+        HashMap<String, Integer> params = new HashMap<>(Map.of("userId", userId));
+        HttpEntity<UserDto> requestEntity = new HttpEntity<>(null, defaultHeaders());
 
-        try {
-            response = rest.postForEntity(serverUrl + "/users", newUser, Object.class);
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
+        return responseRequest(serverUrl + "/users/{userId}", HttpMethod.DELETE, requestEntity, params);
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private HttpHeaders defaultHeaders() {
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+        return headers;
+    }
+
+    private <T> ResponseEntity<Object> responseRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, @Nullable HashMap<String, Integer> params) {
+
+        if (serverProxy.isReactive()) {
+            return serverProxy.exchangeDeferred(url, httpMethod, requestEntity, params);
         }
 
-        return responseBuilder.build();
+        return blockingRequest(url, httpMethod, requestEntity, params);
     }
 
-    public Object updateUser(UserDto newUser, int userId) {
+    private <T> ResponseEntity<Object> blockingRequest(String url, HttpMethod httpMethod, HttpEntity<T> requestEntity, @Nullable HashMap<String, Integer> params) {
 
-        HashMap<String, Integer> params = new HashMap<>(Map.of("userId", userId));
-        HttpEntity<UserDto> httpEntity = new HttpEntity<>(newUser);
+        if (serverProxy.isStreaming()) {
+            return serverProxy.exchange(url, httpMethod, requestEntity, params);
+        }
 
         ResponseEntity<Object> response;
 
         try {
-            response = rest.exchange(serverUrl + "/users/{userId}", HttpMethod.PATCH, httpEntity, Object.class, params);
+            if (params != null) {
+                response = rest.exchange(url, httpMethod, requestEntity, Object.class, params);
+            } else {
+                response = rest.exchange(url, httpMethod, requestEntity, Object.class);
+            }
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
@@ -105,11 +112,4 @@ public class UserClient {
 
         return responseBuilder.build();
     }
-
-    public void deleteUser(int userId) {
-
-        HashMap<String, Integer> params = new HashMap<>(Map.of("userId", userId));
-
-        rest.delete(serverUrl + "/users/{userId}", params);
-    }
 }
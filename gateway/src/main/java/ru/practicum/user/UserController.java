@@ -32,15 +32,15 @@ public class UserController {
     }
 
     @PatchMapping("/{userId}")
-    public Object updateUser(@RequestBody UserDto newUser, @PathVariable int userId) {
+    public ResponseEntity<Object> updateUser(@RequestBody UserDto newUser, @PathVariable int userId) {
 
         return userClient.updateUser(newUser, userId);
     }
 
     @DeleteMapping("/{userId}")
-    public void deleteUser(@PathVariable int userId) {
+    public ResponseEntity<Object> deleteUser(@PathVariable int userId) {
 
-        userClient.deleteUser(userId);
+        return userClient.deleteUser(userId);
     }
 }
 
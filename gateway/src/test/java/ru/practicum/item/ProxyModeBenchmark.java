@@ -0,0 +1,156 @@
+package ru.practicum.item;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.client.ServerProxy;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Opt-in comparison of the gateway proxy modes: {@code mvn test -Dtest=ProxyModeBenchmark -Dshareit.benchmark=true}.
+ * A stub server returns a page of items; each mode is driven through the real controller and message converters.
+ * Bytes allocated on the request thread and latencies are logged per mode for comparison, not asserted.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+public class ProxyModeBenchmark {
+
+    private static final int ITEMS = 200;
+    private static final int WARMUP = 1_000;
+    private static final int ITERATIONS = 3_000;
+
+    private HttpServer server;
+    private byte[] page;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        StringBuilder json = new StringBuilder("[");
+
+        for (int i = 1; i <= ITEMS; i++) {
+            json.append(i > 1 ? "," : "")
+                    .append("{\"id\":").append(i)
+                    .append(",\"name\":\"Дрель ").append(i)
+                    .append("\",\"description\":\"Простая дрель с набором свёрл\",\"available\":true,")
+                    .append("\"owner\":{\"id\":1,\"name\":\"user\",\"email\":\"user@user.com\"},")
+                    .append("\"requestId\":null,\"lastBooking\":null,\"nextBooking\":null,\"comments\":[]}");
+        }
+
+        page = json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, page.length);
+            exchange.getResponseBody().write(page);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void afterEach() {
+
+        server.stop(0);
+    }
+
+    @Test
+    public void proxyModes_reportAllocationAndLatency() throws Exception {
+
+        Result buffered = run("buffered");
+        Result streaming = run("streaming");
+        Result reactive = run("reactive");
+
+        log.info("buffered:  {} bytes/request, p50 {} us, p99 {} us",
+                buffered.bytesPerRequest, buffered.p50, buffered.p99);
+        log.info("streaming: {} bytes/request, p50 {} us, p99 {} us",
+                streaming.bytesPerRequest, streaming.p50, streaming.p99);
+        log.info("reactive:  {} bytes/request on the request thread, p50 {} us, p99 {} us",
+                reactive.bytesPerRequest, reactive.p50, reactive.p99);
+    }
+
+    private Result run(String mode) throws Exception {
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory();
+        ItemClient itemClient = new ItemClient(requestFactory,
+                new ServerProxy(requestFactory, WebClient.create(), objectMapper, mode));
+        itemClient.serverUrl = "http://localhost:" + server.getAddress().getPort();
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new ItemController(itemClient)).build();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long[] latencies = new long[ITERATIONS];
+
+        for (int i = 0; i < WARMUP; i++) {
+            call(mvc);
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            long begin = System.nanoTime();
+            call(mvc);
+            latencies[i] = System.nanoTime() - begin;
+        }
+
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        Arrays.sort(latencies);
+
+        return new Result(allocated / ITERATIONS,
+                TimeUnit.NANOSECONDS.toMicros(latencies[ITERATIONS / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[ITERATIONS * 99 / 100]));
+    }
+
+    private void call(MockMvc mvc) throws Exception {
+
+        MvcResult result = mvc.perform(get("/items").header("X-Sharer-User-Id", 1)).andReturn();
+        MockHttpServletResponse response = result.getRequest().isAsyncStarted()
+                ? mvc.perform(asyncDispatch(result)).andReturn().getResponse()
+                : result.getResponse();
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentAsByteArray().length > 0);
+    }
+
+    private static final class Result {
+
+        private final long bytesPerRequest;
+        private final long p50;
+        private final long p99;
+
+        private Result(long bytesPerRequest, long p50, long p99) {
+
+            this.bytesPerRequest = bytesPerRequest;
+            this.p50 = p50;
+            this.p99 = p99;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.item;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Opt-in check of the reactive proxy mode: {@code mvn test -Dtest=ReactiveModeBenchmark -Dshareit.benchmark=true}.
+ * Tomcat gets 8 worker threads and the stub server answers after 200 ms, so a blocking gateway needs
+ * {@code REQUESTS / 8 * 200 ms} while the reactive one is bounded by the upstream delay. The elapsed time is logged
+ * next to that floor rather than asserted, because a loaded machine can stretch it.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit-server.proxy-mode=reactive",
+        "shareit-server.http-client.max-total=2000",
+        "server.tomcat.threads.max=8",
+        "server.tomcat.threads.min-spare=8",
+        "server.tomcat.accept-count=1000",
+        "logging.level.root=INFO"})
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+public class ReactiveModeBenchmark {
+
+    private static final int REQUESTS = 1_000;
+    private static final long UPSTREAM_DELAY_MS = 200;
+    private static final byte[] ITEM = "{\"id\":1,\"name\":\"Дрель\",\"available\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private static final ExecutorService stubExecutor = Executors.newCachedThreadPool();
+    private static final HttpServer stub = startStub();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+
+        registry.add("shareit-server.url", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void afterAll() {
+
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    public void reactiveMode_servesConcurrentSlowRequests_withAFewServletThreads() {
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/1"))
+                .header("X-Sharer-User-Id", "1")
+                .build();
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).join();
+
+        long begin = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.join().statusCode());
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        long blockingFloor = REQUESTS / 8 * UPSTREAM_DELAY_MS;
+
+        log.info("reactive: {} concurrent requests in {} ms (8 blocking threads would need >= {} ms)",
+                REQUESTS, elapsed, blockingFloor);
+    }
+
+    private static HttpServer startStub() {
+
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+
+            server.setExecutor(stubExecutor);
+            server.createContext("/items", exchange -> {
+                try {
+                    Thread.sleep(UPSTREAM_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, ITEM.length);
+                exchange.getResponseBody().write(ITEM);
+                exchange.close();
+            });
+            server.start();
+
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.loadtest;
+
+import ru.practicum.shareit.datagen.ZipfSampler;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids the scenarios pick from, read from the seeded database. Items and owners are picked with the same Zipf skew
+ * the data was generated with, so the hot items and the heavy owners also get most of the traffic.
+ */
+class Fixtures {
+
+    private final int users;
+    private final int[] itemIds;
+    private final int[] itemOwners;
+    private final int[] owners;
+    private final ZipfSampler items;
+    private final ZipfSampler busyOwners;
+
+    private Fixtures(int users, int[] itemIds, int[] itemOwners, int[] owners, double skew) {
+
+        this.users = users;
+        this.itemIds = itemIds;
+        this.itemOwners = itemOwners;
+        this.owners = owners;
+        this.items = new ZipfSampler(itemIds.length, skew);
+        this.busyOwners = new ZipfSampler(owners.length, skew);
+    }
+
+    static Fixtures load(Connection connection, double skew) throws SQLException {
+
+        List<int[]> items = query(connection, "select item_id, user_id from items where available order by item_id");
+        List<int[]> owners = query(connection, "select i.user_id, count(*) from bookings b "
+                + "join items i on i.item_id = b.item_id group by i.user_id order by count(*) desc, i.user_id");
+        int users = query(connection, "select count(*), 0 from users").get(0)[0];
+
+        if (items.isEmpty() || owners.isEmpty() || users < 2) {
+            throw new IllegalStateException("The database needs available items, bookings and at least two users");
+        }
+
+        return new Fixtures(users,
+                items.stream().mapToInt(row -> row[0]).toArray(),
+                items.stream().mapToInt(row -> row[1]).toArray(),
+                owners.stream().mapToInt(row -> row[0]).toArray(),
+                skew);
+    }
+
+    int item() {
+
+        return itemIds[items.sample(ThreadLocalRandom.current().nextDouble()) - 1];
+    }
+
+    int owner() {
+
+        return owners[busyOwners.sample(ThreadLocalRandom.current().nextDouble()) - 1];
+    }
+
+    int user() {
+
+        return 1 + ThreadLocalRandom.current().nextInt(users);
+    }
+
+    /**
+     * A hot available item and a user who does not own it.
+     */
+    int[] bookable() {
+
+        int index = items.sample(ThreadLocalRandom.current().nextDouble()) - 1;
+        int booker = user();
+
+        while (booker == itemOwners[index]) {
+            booker = user();
+        }
+
+        return new int[]{itemIds[index], itemOwners[index], booker};
+    }
+
+    private static List<int[]> query(Connection connection, String sql) throws SQLException {
+
+        List<int[]> rows = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                rows.add(new int[]{resultSet.getInt(1), resultSet.getInt(2)});
+            }
+        }
+
+        return rows;
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-scenario HDR latency histograms, in microseconds up to one minute with three significant digits, plus response
+ * status counts and failures as the scenarios judge them. Transport failures are counted under status 0.
+ */
+class LatencyReport {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Scenario, Histogram> histograms = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, Map<Integer, LongAdder>> statuses = new EnumMap<>(Scenario.class);
+    private final LongAdder failures = new LongAdder();
+
+    LatencyReport() {
+
+        for (Scenario scenario : Scenario.values()) {
+            histograms.put(scenario, new ConcurrentHistogram(MAX_MICROS, 3));
+            statuses.put(scenario, new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(Scenario scenario, int status, boolean failed, long nanos) {
+
+        histograms.get(scenario).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_MICROS));
+        statuses.get(scenario).computeIfAbsent(status, key -> new LongAdder()).increment();
+
+        if (failed) {
+            failures.increment();
+        }
+    }
+
+    long failures() {
+
+        return failures.sum();
+    }
+
+    void print(PrintStream out, long elapsedNanos) {
+
+        double seconds = elapsedNanos / 1e9;
+
+        out.printf("%-22s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+        for (Scenario scenario : Scenario.values()) {
+            Histogram histogram = histograms.get(scenario);
+
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+
+            Map<Integer, Long> counts = new TreeMap<>();
+
+            statuses.get(scenario).forEach((status, count) -> counts.put(status, count.sum()));
+            out.printf("%-22s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    scenario.label(), histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0, counts);
+        }
+    }
+
+    /**
+     * Writes one {@code .hgrm} percentile distribution per scenario, in milliseconds, for HdrHistogram's plotter.
+     */
+    void write(Path directory) throws IOException {
+
+        for (Scenario scenario : Scenario.values()) {
+            Histogram histogram = histograms.get(scenario);
+
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+
+            Path file = directory.resolve(scenario.name().toLowerCase().replace('_', '-') + ".hgrm");
+
+            try (PrintStream out = new PrintStream(file.toFile(), StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,233 @@
+package ru.practicum.shareit.loadtest;
+
+import ru.practicum.shareit.datagen.DataGenerator;
+import ru.practicum.shareit.datagen.Volumes;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: starts {@code ShareItServer} on an H2 file database and {@code ShareItGateway} in front of it,
+ * seeds the database with {@link DataGenerator}, then drives a weighted mix of gateway calls from a fixed number of
+ * concurrent clients. Each client sends its next call as soon as the previous one answers (a closed loop), so
+ * latencies are service times at that concurrency.
+ *
+ * <p>Run from the repository root with {@code mvn -Ploadtest verify -DskipTests}; options go to
+ * {@code -Dloadtest.args}, for example {@code -Dloadtest.args="--concurrency=128 --duration=2m --bookings=2000000"}:
+ * <ul>
+ *     <li>{@code --concurrency} clients, 64 by default; {@code --virtual-threads=true} runs them, the server and the
+ *     gateway on virtual threads (Java 21+)</li>
+ *     <li>{@code --warmup} and {@code --duration}, 15s and 60s by default; warmup calls are not recorded</li>
+ *     <li>{@code --mix}, weights per scenario, by default
+ *     {@code search=25,item=30,owner-bookings=20,requests=15,create-booking=5,approve-booking=5}</li>
+ *     <li>{@code --proxy-mode} of the gateway and the {@link Volumes} options {@code --users}, {@code --items},
+ *     {@code --bookings}, {@code --comments}, {@code --requests}, {@code --skew}, {@code --seed}</li>
+ * </ul>
+ * The summary, one {@code .hgrm} file per endpoint and the service logs go to {@code loadtest/target/loadtest}. The
+ * process exits with status 1, once both services are stopped, if any call failed with a transport error or a 5xx.
+ */
+public class LoadTest {
+
+    private static final String DEFAULT_MIX =
+            "search=25,item=30,owner-bookings=20,requests=15,create-booking=5,approve-booking=5";
+    private static final Duration STARTUP = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+
+            options.put(option[0], option.length == 2 ? option[1] : "true");
+        }
+
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest")).toAbsolutePath();
+        Path database = output.resolve("db");
+        String url = "jdbc:h2:file:" + database.resolve("shareit") + ";AUTO_SERVER=TRUE";
+        boolean virtualThreads = Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false"));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        deleteRecursively(database);
+        Files.createDirectories(database);
+
+        long failures = 0;
+
+        try (ServiceProcess server = ServiceProcess.start("server", Path.of(options.get("server-jar")), output, List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=sa",
+                "--shareit.threads.virtual=" + virtualThreads,
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"))) {
+            server.awaitHealthy(client, STARTUP);
+
+            Volumes volumes = volumes(options);
+            Fixtures fixtures;
+
+            try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+                new DataGenerator(volumes).generate(connection);
+                fixtures = Fixtures.load(connection, volumes.getSkew());
+            }
+
+            try (ServiceProcess gateway = ServiceProcess.start("gateway", Path.of(options.get("gateway-jar")), output,
+                    List.of("--shareit-server.url=" + server.uri(""),
+                            "--shareit-server.proxy-mode=" + options.getOrDefault("proxy-mode", "streaming"),
+                            "--shareit.threads.virtual=" + virtualThreads))) {
+                gateway.awaitHealthy(client, STARTUP);
+
+                Scenario.Context context = new Scenario.Context(gateway.uri("").toString(), fixtures);
+                Scenario[] mix = mix(options.getOrDefault("mix", DEFAULT_MIX));
+                int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+
+                System.out.println("Warming up...");
+                drive(client, context, mix, concurrency, virtualThreads,
+                        duration(options.getOrDefault("warmup", "15s")), new LatencyReport());
+
+                System.out.println("Measuring with " + concurrency + " clients...");
+
+                LatencyReport report = new LatencyReport();
+                long elapsed = drive(client, context, mix, concurrency, virtualThreads,
+                        duration(options.getOrDefault("duration", "60s")), report);
+
+                report.print(System.out, elapsed);
+                try (PrintStream summary = new PrintStream(output.resolve("summary.txt").toFile(),
+                        StandardCharsets.UTF_8)) {
+                    summary.println(volumes + ", " + concurrency + " clients, mix " + options.getOrDefault("mix",
+                            DEFAULT_MIX));
+                    report.print(summary, elapsed);
+                }
+                report.write(output);
+                failures = report.failures();
+            }
+        }
+
+        if (failures > 0) {
+            System.out.println(failures + " calls failed, see " + output);
+            System.exit(1);
+        }
+    }
+
+    private static long drive(HttpClient client, Scenario.Context context, Scenario[] mix, int concurrency,
+                              boolean virtualThreads, Duration duration, LatencyReport report)
+            throws InterruptedException {
+
+        ExecutorService clients = virtualThreads ? virtualThreadExecutor() : Executors.newFixedThreadPool(concurrency);
+        long begin = System.nanoTime();
+        long deadline = begin + duration.toNanos();
+
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Scenario scenario = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+                    Scenario.Call call = scenario.request(context);
+
+                    if (call == null) {
+                        continue;
+                    }
+
+                    long start = System.nanoTime();
+
+                    try {
+                        HttpResponse<String> response = client.send(call.request, HttpResponse.BodyHandlers.ofString());
+                        long nanos = System.nanoTime() - start;
+
+                        report.record(scenario, response.statusCode(), scenario.failed(response), nanos);
+                        scenario.completed(context, call, response);
+                    } catch (IOException e) {
+                        report.record(scenario, 0, true, System.nanoTime() - start);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+
+        clients.shutdown();
+        if (!clients.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+            clients.shutdownNow();
+        }
+
+        return System.nanoTime() - begin;
+    }
+
+    /**
+     * Expands {@code key=weight} pairs into one slot per unit of weight, so a uniform pick follows the mix.
+     */
+    private static Scenario[] mix(String mix) {
+
+        List<Scenario> slots = new ArrayList<>();
+
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.trim().split("=");
+
+            slots.addAll(Collections.nCopies(Integer.parseInt(weight[1]), Scenario.byKey(weight[0])));
+        }
+
+        return slots.toArray(new Scenario[0]);
+    }
+
+    private static Volumes volumes(Map<String, String> options) {
+
+        Volumes.VolumesBuilder builder = Volumes.builder()
+                .users(Integer.parseInt(options.getOrDefault("users", "10000")))
+                .items(Integer.parseInt(options.getOrDefault("items", "50000")))
+                .bookings(Integer.parseInt(options.getOrDefault("bookings", "500000")))
+                .comments(Integer.parseInt(options.getOrDefault("comments", "100000")))
+                .requests(Integer.parseInt(options.getOrDefault("requests", "20000")));
+
+        if (options.containsKey("skew")) {
+            builder.skew(Double.parseDouble(options.get("skew")));
+        }
+        if (options.containsKey("seed")) {
+            builder.seed(Long.parseLong(options.get("seed")));
+        }
+
+        return builder.build();
+    }
+
+    private static Duration duration(String value) {
+
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("--virtual-threads=true needs Java 21 or newer, running on "
+                    + Runtime.version(), e);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        try (var paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One kind of gateway call in the mix. {@link #request} returns {@code null} when there is nothing to do, which only
+ * happens to approvals while no created booking is waiting for one.
+ */
+enum Scenario {
+
+    SEARCH("search", "GET /items/search") {
+        @Override
+        Call request(Context context) {
+
+            String text = WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+
+            return context.get("/items/search?from=0&size=20&text=" + URLEncoder.encode(text, StandardCharsets.UTF_8),
+                    context.fixtures.user());
+        }
+    },
+    ITEM("item", "GET /items/{id}") {
+        @Override
+        Call request(Context context) {
+
+            return context.get("/items/" + context.fixtures.item(), context.fixtures.user());
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings", "GET /bookings/owner") {
+        @Override
+        Call request(Context context) {
+
+            String state = STATES[ThreadLocalRandom.current().nextInt(STATES.length)];
+
+            return context.get("/bookings/owner?state=" + state + "&from=0&size=20", context.fixtures.owner());
+        }
+    },
+    REQUESTS("requests", "GET /requests/all") {
+        @Override
+        Call request(Context context) {
+
+            return context.get("/requests/all?from=0&size=20", context.fixtures.user());
+        }
+    },
+    CREATE_BOOKING("create-booking", "POST /bookings") {
+        @Override
+        Call request(Context context) {
+
+            int[] bookable = context.fixtures.bookable();
+            LocalDateTime start = context.nextSlot();
+
+            return new Call(context.builder("/bookings", bookable[2])
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"itemId\":" + bookable[0] + ",\"start\":\"" + start
+                            + "\",\"end\":\"" + start.plusMinutes(30) + "\"}"))
+                    .build(), bookable[1]);
+        }
+
+        @Override
+        void completed(Context context, Call call, HttpResponse<String> response) {
+
+            Matcher id = ID.matcher(response.body());
+
+            if (response.statusCode() == 200 && id.find()) {
+                context.waitingApproval.add(new int[]{Integer.parseInt(id.group(1)), call.owner});
+            }
+        }
+    },
+    APPROVE_BOOKING("approve-booking", "PATCH /bookings/{id}") {
+        @Override
+        Call request(Context context) {
+
+            int[] booking = context.waitingApproval.poll();
+
+            if (booking == null) {
+                return null;
+            }
+
+            return new Call(context.builder("/bookings/" + booking[0] + "?approved=true", booking[1])
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build(), booking[1]);
+        }
+    };
+
+    private static final String[] WORDS = {"дрель", "палатка", "велосипед", "лестница", "перфоратор", "самокат",
+            "проектор", "гитара", "мангал", "компактная"};
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final String key;
+    private final String label;
+
+    Scenario(String key, String label) {
+
+        this.key = key;
+        this.label = label;
+    }
+
+    static Scenario byKey(String key) {
+
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown scenario " + key + ", expected one of search, item, "
+                + "owner-bookings, requests, create-booking, approve-booking");
+    }
+
+    String label() {
+
+        return label;
+    }
+
+    abstract Call request(Context context);
+
+    void completed(Context context, Call call, HttpResponse<String> response) {
+    }
+
+    /**
+     * Server errors fail the run; client errors are reported but expected, e.g. a booking slot already taken.
+     */
+    boolean failed(HttpResponse<String> response) {
+
+        return response.statusCode() >= 500;
+    }
+
+    /**
+     * A request to send, with the owner of the booked item for the booking calls.
+     */
+    static class Call {
+
+        final HttpRequest request;
+        final int owner;
+
+        Call(HttpRequest request, int owner) {
+
+            this.request = request;
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * What the scenarios share: the gateway address, the fixtures and the bookings created but not yet approved.
+     * Created bookings get consecutive half-hour slots a month ahead, so approvals never hit an overlap.
+     */
+    static class Context {
+
+        private final String gateway;
+        private final Fixtures fixtures;
+        private final Queue<int[]> waitingApproval = new ConcurrentLinkedQueue<>();
+        private final LocalDateTime firstSlot = LocalDateTime.now().plusDays(30).withNano(0);
+        private final AtomicLong slots = new AtomicLong();
+
+        Context(String gateway, Fixtures fixtures) {
+
+            this.gateway = gateway;
+            this.fixtures = fixtures;
+        }
+
+        private Call get(String path, int userId) {
+
+            return new Call(builder(path, userId).GET().build(), 0);
+        }
+
+        private HttpRequest.Builder builder(String path, int userId) {
+
+            return HttpRequest.newBuilder(URI.create(gateway + path))
+                    .header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+
+        private LocalDateTime nextSlot() {
+
+            return firstSlot.plusHours(slots.getAndIncrement());
+        }
+    }
+}
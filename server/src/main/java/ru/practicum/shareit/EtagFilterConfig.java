@@ -0,0 +1,25 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETags for the item, user and request reads, so the gateway cache can revalidate with {@code If-None-Match}.
+ * Limited to these paths because the filter buffers the whole body, which would defeat the streamed booking export.
+ */
+@Configuration
+public class EtagFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+
+        registration.addUrlPatterns("/items/*", "/users/*", "/requests/*");
+
+        return registration;
+    }
+}
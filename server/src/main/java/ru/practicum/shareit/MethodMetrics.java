@@ -0,0 +1,148 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Domain metrics, scraped from {@code /actuator/prometheus}:
+ * <ul>
+ *     <li>{@code shareit.service} timer around every public method of the {@code *Service} classes, tagged with the
+ *     service, the method, the booking {@code state} argument where there is one and the exception thrown;</li>
+ *     <li>{@code shareit.service.rows} and {@code shareit.repository.rows} counters of the rows, DTOs or entities
+ *     returned, tagged like the timers.</li>
+ * </ul>
+ * Repository calls are timed by Spring Boot as {@code spring.data.repository.invocations}; percentile histograms for
+ * both timers are switched on in {@code application.properties}. Disabled with {@code shareit.metrics.enabled=false}.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "shareit.metrics.enabled", matchIfMissing = true)
+public class MethodMetrics {
+
+    private static final Set<String> STATES = Set.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public MethodMetrics(MeterRegistry meterRegistry) {
+
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(ru.practicum.shareit..*Service) && @within(org.springframework.stereotype.Service) "
+            + "&& execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Tags tags = Tags.of("service", signature.getDeclaringType().getSimpleName(),
+                "method", signature.getName(),
+                "state", state(signature.getParameterNames(), joinPoint.getArgs()));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+
+        try {
+            Object result = joinPoint.proceed();
+
+            countRows("shareit.service.rows", tags, signature, result);
+
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("shareit.service", tags.and("exception", exception)));
+        }
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object countRepositoryRows(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Object result = joinPoint.proceed();
+        Tags tags = Tags.of("repository", repositoryName(joinPoint.getThis()), "method", signature.getName());
+
+        if (result instanceof Stream) {
+            long[] rows = new long[1];
+            Counter counter = meterRegistry.counter("shareit.repository.rows", tags);
+
+            return ((Stream<?>) result).peek(row -> rows[0]++).onClose(() -> counter.increment(rows[0]));
+        }
+
+        countRows("shareit.repository.rows", tags, signature, result);
+
+        return result;
+    }
+
+    private void countRows(String name, Tags tags, MethodSignature signature, Object result) {
+
+        Class<?> type = signature.getReturnType();
+
+        if (type.isPrimitive() || Number.class.isAssignableFrom(type) || type == Boolean.class
+                || type == String.class) {
+            return;
+        }
+
+        meterRegistry.counter(name, tags).increment(rows(result));
+    }
+
+    private static long rows(Object result) {
+
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+
+        return result == null ? 0 : 1;
+    }
+
+    /**
+     * The {@code state} argument of the booking lists; anything outside the known states, including a missing state, is
+     * rejected by the service, so it is tagged {@code UNKNOWN} to keep the tag bounded.
+     */
+    private static String state(String[] parameterNames, Object[] args) {
+
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals("state")) {
+                return args[i] != null && STATES.contains(args[i]) ? (String) args[i] : "UNKNOWN";
+            }
+        }
+
+        return NONE;
+    }
+
+    private String repositoryName(Object repository) {
+
+        return repositoryNames.computeIfAbsent(repository.getClass(), type -> {
+            for (Class<?> proxied : AopProxyUtils.proxiedUserInterfaces(repository)) {
+                if (Repository.class.isAssignableFrom(proxied)) {
+                    return proxied.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
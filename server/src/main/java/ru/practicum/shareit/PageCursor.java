@@ -0,0 +1,37 @@
+package ru.practicum.shareit;
+
+import lombok.*;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * The {@code after} parameter of keyset pages ordered by a timestamp and then an id, both descending: the booking
+ * start or the request creation time, and the id of the last row of the previous page.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class PageCursor {
+
+    private final LocalDateTime time;
+    private final Integer id;
+
+    public static PageCursor parse(String after) {
+
+        int separator = after.lastIndexOf(',');
+
+        if (separator < 0) {
+            throw new BadRequestException("the after parameter must look like <time>,<id>");
+        }
+
+        try {
+            return new PageCursor(LocalDateTime.parse(after.substring(0, separator).trim()),
+                    Integer.valueOf(after.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BadRequestException("the after parameter must look like <time>,<id>");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL work done on the current thread between {@link #start()} and {@link #stop()}: statements prepared, entities
+ * loaded and time spent executing statements. {@link SqlStatisticsConfig} feeds it from Hibernate for every HTTP
+ * request, and the service tests use it to pin statement counts. Counts of identical statements expose N+1 loads.
+ */
+public class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int statementCount;
+    private int entityCount;
+    private long jdbcNanos;
+
+    public static SqlStatistics start() {
+
+        SqlStatistics statistics = new SqlStatistics();
+
+        CURRENT.set(statistics);
+
+        return statistics;
+    }
+
+    public static SqlStatistics stop() {
+
+        SqlStatistics statistics = CURRENT.get();
+
+        CURRENT.remove();
+
+        return statistics;
+    }
+
+    static Optional<SqlStatistics> current() {
+
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    void statement(String sql) {
+
+        statementCount++;
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    void entityLoaded() {
+
+        entityCount++;
+    }
+
+    void jdbcTime(long nanos) {
+
+        jdbcNanos += nanos;
+    }
+
+    public int getStatements() {
+
+        return statementCount;
+    }
+
+    public int getEntities() {
+
+        return entityCount;
+    }
+
+    public long getJdbcMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(jdbcNanos);
+    }
+
+    /**
+     * The statement run most often, if it ran more than once; a count that grows with the page size is an N+1.
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeated() {
+
+        return statements.entrySet().stream()
+                .filter(statement -> statement.getValue() > 1)
+                .max(Map.Entry.comparingByValue());
+    }
+
+    @Override
+    public String toString() {
+
+        return statementCount + " statements, " + entityCount + " entities, " + getJdbcMillis() + " ms in JDBC"
+                + mostRepeated().map(statement -> ", repeated " + statement.getValue() + " times: "
+                + statement.getKey()).orElse("");
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Feeds {@link SqlStatistics} from Hibernate: a statement inspector counts statements, a session listener times their
+ * execution and a post-load listener counts entities. Every HTTP request is measured, and one that prepares more than
+ * {@code shareit.sql.statement-budget} statements (20 by default) is logged with its most repeated statement.
+ * {@link SqlStatisticsHeaders} adds the figures to responses in debug mode. Disabled with
+ * {@code shareit.sql.statistics.enabled=false}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql.statistics.enabled", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatisticsHibernatePropertiesCustomizer() {
+
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                SqlStatistics.current().ifPresent(statistics -> statistics.statement(sql));
+                return sql;
+            });
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimer.class.getName());
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new EntityLoadCounter()));
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(
+            @Value("${shareit.sql.statement-budget:20}") int statementBudget) {
+
+        return new FilterRegistrationBean<>(new SqlStatisticsFilter(statementBudget));
+    }
+
+    /**
+     * Created by Hibernate for each session, hence public with a default constructor.
+     */
+    public static class JdbcTimer extends BaseSessionEventListener {
+
+        private long start;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+
+            record();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+
+            record();
+        }
+
+        private void record() {
+
+            long nanos = System.nanoTime() - start;
+
+            SqlStatistics.current().ifPresent(statistics -> statistics.jdbcTime(nanos));
+        }
+    }
+
+    private static class EntityLoadCounter implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                              SessionFactoryServiceRegistry serviceRegistry) {
+
+            serviceRegistry.getService(EventListenerRegistry.class).appendListeners(EventType.POST_LOAD,
+                    (PostLoadEventListener) event -> SqlStatistics.current().ifPresent(SqlStatistics::entityLoaded));
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                 SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+
+    /**
+     * Measures the request thread only, so the streamed booking export is counted up to the point it goes async.
+     */
+    static class SqlStatisticsFilter extends OncePerRequestFilter {
+
+        private final int statementBudget;
+
+        SqlStatisticsFilter(int statementBudget) {
+
+            this.statementBudget = statementBudget;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+
+            SqlStatistics statistics = SqlStatistics.start();
+
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                SqlStatistics.stop();
+
+                if (statistics.getStatements() > statementBudget) {
+                    log.warn("{} {} went over the budget of {} statements: {}", request.getMethod(),
+                            request.getRequestURI(), statementBudget, statistics);
+                }
+            }
+        }
+    }
+}
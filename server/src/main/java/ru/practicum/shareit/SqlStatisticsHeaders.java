@@ -0,0 +1,43 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Debug mode, {@code shareit.sql.debug-headers=true}: adds the request's {@link SqlStatistics} to every JSON response
+ * as {@code X-Sql-Statements}, {@code X-Sql-Entities}, {@code X-Sql-Jdbc-Millis} and, when a statement ran more than
+ * once, {@code X-Sql-Repeated} with its count. Headers are set just before the body is written, so lazy loads during
+ * serialization are not included.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "shareit.sql.debug-headers", havingValue = "true")
+public class SqlStatisticsHeaders implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+
+        SqlStatistics.current().ifPresent(statistics -> {
+            response.getHeaders().set("X-Sql-Statements", String.valueOf(statistics.getStatements()));
+            response.getHeaders().set("X-Sql-Entities", String.valueOf(statistics.getEntities()));
+            response.getHeaders().set("X-Sql-Jdbc-Millis", String.valueOf(statistics.getJdbcMillis()));
+            statistics.mostRepeated().ifPresent(statement ->
+                    response.getHeaders().set("X-Sql-Repeated", String.valueOf(statement.getValue())));
+        });
+
+        return body;
+    }
+}
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exceptions.BadRequestException;
 
 import java.util.List;
 
@@ -12,6 +16,14 @@ public class BookingController {
 
     private final BookingService bookingService;
 
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(bookingService::exportBookings);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto findBookingById(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
                                       @PathVariable int bookingId) {
@@ -45,8 +57,16 @@ public class BookingController {
     @GetMapping
     public List<BookingDto> getBookingsForUser(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
                                                @RequestParam(name = "state") String state,
-                                               @RequestParam(value = "from") Integer from,
-                                               @RequestParam(value = "size") Integer size) {
+                                               @RequestParam(value = "from", required = false) Integer from,
+                                               @RequestParam(value = "size") Integer size,
+                                               @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null) {
+            return bookingService.getUsersBooking(userId, state, after, size);
+        }
+        if (from == null) {
+            throw new BadRequestException("the from parameter is required without after");
+        }
 
         return bookingService.getUsersBooking(userId, state, from, size);
     }
@@ -54,8 +74,16 @@ public class BookingController {
     @GetMapping("/owner")
     public List<BookingDto> getBookingsForUsersItems(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
                                                      @RequestParam(name = "state") String state,
-                                                     @RequestParam(value = "from") Integer from,
-                                                     @RequestParam(value = "size") Integer size) {
+                                                     @RequestParam(value = "from", required = false) Integer from,
+                                                     @RequestParam(value = "size") Integer size,
+                                                     @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null) {
+            return bookingService.getBookingsForUsersItems(userId, state, after, size);
+        }
+        if (from == null) {
+            throw new BadRequestException("the from parameter is required without after");
+        }
 
         return bookingService.getBookingsForUsersItems(userId, state, from, size);
     }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.item.*;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
@@ -12,8 +13,7 @@ public class BookingMapper {
 
     private final UserService userService;
     private final UserMapper userMapper;
-    private final ItemService itemService;
-    private final ItemMapper itemMapper;
+    private final ItemRepository itemRepository;
 
     public static BookingDto objectToDto(Booking booking) {
 
@@ -30,13 +30,14 @@ public class BookingMapper {
 
     public Booking dtoToObject(BookingDto dto, Integer userId) {
 
-        ItemDto itemDto = itemService.findItemById(dto.getItemId(), userId);
+        Item item = itemRepository.findById(dto.getItemId())
+                .orElseThrow(() -> new ObjectNotFoundException("There is no item with this id"));
 
         return Booking.builder()
                 .id(dto.getId())
                 .start(dto.getStart())
                 .end(dto.getEnd())
-                .item(itemMapper.dtoToObject(itemDto, itemDto.getOwner().getId()))
+                .item(item)
                 .booker(userMapper.dtoToObject(userService.findUserById(userId)))
                 .status(dto.getStatus())
                 .build();
@@ -44,8 +45,8 @@ public class BookingMapper {
 
     public Booking dtoToObject(BookingDto dto) {
 
-        int userId = dto.getItem().getOwner().getId();
-        Item item = itemMapper.dtoToObject(itemService.findItemById(dto.getItemId(), userId), userId);
+        Item item = itemRepository.findById(dto.getItemId())
+                .orElseThrow(() -> new ObjectNotFoundException("There is no item with this id"));
 
         return Booking.builder()
                 .id(dto.getId())
@@ -1,52 +1,101 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.Item;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingSeekRepository {
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     List<Booking> findAllByBookerId(Integer userId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     List<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(Integer userId, LocalDateTime dateTime, LocalDateTime dateTime1, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     List<Booking> findAllByBookerIdAndEndBefore(Integer userId, LocalDateTime dateTime, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     List<Booking> findAllByBookerIdAndStartAfter(Integer userId, LocalDateTime dateTime, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     List<Booking> findAllByBookerIdAndStatus(Integer userId, BookingStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     List<Booking> findAllByBookerIdAndStatusIn(Integer userId, Set<BookingStatus> rejected, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     List<Booking> findAllByItemOwnerId(Integer userId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     @Query(value = "select b from Booking b where b.item.owner.id = ?1 and b.start < ?2 and b.end > ?3")
     List<Booking> findAllByOwnerIdAndStartBeforeAndEndAfter(Integer userId, LocalDateTime dateTime, LocalDateTime dateTime1, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     @Query(value = "select b from Booking b where b.item.owner.id = ?1 and b.end < ?2")
     List<Booking> findAllByOwnerIdAndEndBefore(Integer userId, LocalDateTime dateTime, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     @Query(value = "select b from Booking b where b.item.owner.id = ?1 and b.start > ?2")
     List<Booking> findAllByOwnerIdAndStartAfter(Integer userId, LocalDateTime dateTime, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     @Query(value = "select b from Booking b where b.item.owner.id = ?1 and b.status = ?2")
     List<Booking> findAllByOwnerIdAndStatus(Integer userId, BookingStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     @Query(value = "select b from Booking b where b.item.owner.id = ?1 and b.status in ?2")
     List<Booking> findAllByOwnerIdAndStatusIn(Integer userId, Set<BookingStatus> rejected, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "item.request.requestor", "booker"})
     @Query(value = "select b from Booking b where b.id = ?1 and (b.item.owner.id = ?2 or b.booker.id =  ?2)")
     Optional<Booking> findBooking(int bookingId, Integer userId);
 
-    List<Booking> findAllByItem(Item item);
+    /**
+     * The item of a booking, read without loading the booking so its status can be read after the item lock.
+     */
+    @Query(value = "select b.item.id from Booking b where b.id = ?1")
+    Optional<Integer> findItemIdById(int bookingId);
+
+    /**
+     * The newest booking of an item, which tells the owner's card about new bookings without a write to the item.
+     */
+    @Query(value = "select max(b.id) from Booking b where b.item.id = ?1")
+    Optional<Integer> findLatestIdByItemId(Integer itemId);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Integer itemId, BookingStatus status, LocalDateTime end,
+                                                             LocalDateTime start);
+
+    @QueryHints(value = {
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")})
+    @Query(value = "select new ru.practicum.shareit.booking.BookingDtoMini(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "from Booking b order by b.id")
+    Stream<BookingDtoMini> streamAll();
 
     List<Booking> findAllByItemIn(Collection<Item> items);
+
+    @Query(value = "select new ru.practicum.shareit.booking.BookingDtoMini(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "from Booking b where b.item.id in ?1 and b.status in ?2 and b.start = " +
+            "(select max(lb.start) from Booking lb where lb.item.id = b.item.id and lb.status in ?2 and lb.start < ?3) " +
+            "order by b.id")
+    List<BookingDtoMini> findLastBookings(Collection<Integer> itemIds, Set<BookingStatus> statuses, LocalDateTime dateTime);
+
+    @Query(value = "select new ru.practicum.shareit.booking.BookingDtoMini(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "from Booking b where b.item.id in ?1 and b.status in ?2 and b.start = " +
+            "(select min(nb.start) from Booking nb where nb.item.id = b.item.id and nb.status in ?2 and nb.start > ?3) " +
+            "order by b.id")
+    List<BookingDtoMini> findNextBookings(Collection<Integer> itemIds, Set<BookingStatus> statuses, LocalDateTime dateTime);
 }
 
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.PageCursor;
+
+import java.util.List;
+
+public interface BookingSeekRepository {
+
+    List<Booking> findAllAfter(Specification<Booking> specification, PageCursor after, int size);
+}
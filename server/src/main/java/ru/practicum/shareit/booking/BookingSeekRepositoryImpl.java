@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.item.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingSeekRepositoryImpl implements BookingSeekRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Booking> findAllAfter(Specification<Booking> specification, PageCursor after, int size) {
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = builder.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+        Fetch<Booking, Item> item = root.fetch("item", JoinType.LEFT);
+        item.fetch("owner", JoinType.LEFT);
+        item.fetch("request", JoinType.LEFT).fetch("requestor", JoinType.LEFT);
+        root.fetch("booker", JoinType.LEFT);
+        Path<LocalDateTime> start = root.get("start");
+        Path<Integer> id = root.get("id");
+        Predicate predicate = specification.toPredicate(root, query, builder);
+
+        if (after != null) {
+            predicate = builder.and(predicate, builder.or(
+                    builder.lessThan(start, after.getTime()),
+                    builder.and(builder.equal(start, after.getTime()), builder.lessThan(id, after.getId()))));
+        }
+
+        query.select(root).where(predicate).orderBy(builder.desc(start), builder.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
@@ -1,21 +1,29 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.exceptions.ValidateException;
-import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -26,6 +34,8 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final ItemRepository itemRepository;
+    private final ItemBookingLocks itemBookingLocks;
+    private final ObjectMapper objectMapper;
 
     public List<BookingDto> findAll() {
 
@@ -37,6 +47,24 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public void exportBookings(OutputStream outputStream) throws IOException {
+
+        log.info("Received a request to export all bookings");
+
+        ObjectWriter writer = objectMapper.writerFor(BookingDtoMini.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (Stream<BookingDtoMini> bookings = bookingRepository.streamAll()) {
+            for (Iterator<BookingDtoMini> iterator = bookings.iterator(); iterator.hasNext(); ) {
+                writer.writeValue(outputStream, iterator.next());
+                outputStream.write('\n');
+            }
+        }
+
+        outputStream.flush();
+    }
+
     public BookingDto findBookingById(int bookingId, Integer userId) {
 
         log.info("Searching for a booking with an id " + bookingId);
@@ -58,10 +86,6 @@ public class BookingService {
 
         checkCorrectness(oldBooking, userId);
 
-        Item item = oldBooking.getItem();
-
-        itemRepository.save(item);
-
         Booking newBooking = bookingRepository.save(oldBooking);
 
         log.info("I received a request to create a booking " + newBooking);
@@ -86,8 +110,22 @@ public class BookingService {
         }
     }
 
+    private void checkOverlap(Booking booking) {
+
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(booking.getItem().getId(),
+                BookingStatus.APPROVED, booking.getEnd(), booking.getStart())) {
+            throw new BadRequestException("The item is already booked for these dates");
+        }
+    }
+
     public BookingDto updateBooking(Integer userId, Integer bookingId, Boolean available) {
 
+        Integer itemId = bookingRepository.findItemIdById(bookingId)
+                .orElseThrow(() -> new ObjectNotFoundException("There is no booking with this id"));
+
+        // Approvals and rejections of the same item take turns, so the status below is read after the previous decision commits
+        itemBookingLocks.lockUntilCompletion(itemId);
+
         BookingDto bookingDto = findBookingById(bookingId, userId);
 
         if (!bookingDto.getItem().getOwner().getId().equals(userId)) {
@@ -100,6 +138,7 @@ public class BookingService {
             throw new BadRequestException("it's too late to change anything...");
         }
         if (available) {
+            checkOverlap(booking);
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
@@ -107,13 +146,24 @@ public class BookingService {
 
         log.info("I received a request to update a booking\n" + booking);
 
-        return BookingMapper.objectToDto(bookingRepository.save(booking));
+        try {
+            BookingDto updated = BookingMapper.objectToDto(bookingRepository.saveAndFlush(booking));
+
+            itemRepository.touchBookings(booking.getItem().getId());
+
+            return updated;
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("The item is already booked for these dates");
+        }
     }
 
     public void deleteBooking(int bookingId, Integer userId) {
 
-        if (findBookingById(bookingId, userId).getBooker().getId().equals(userId)) {
+        BookingDto booking = findBookingById(bookingId, userId);
+
+        if (booking.getBooker().getId().equals(userId)) {
             bookingRepository.deleteById(bookingId);
+            itemRepository.touchBookings(booking.getItem().getId());
         }
 
 
@@ -206,8 +256,33 @@ public class BookingService {
         return bookings.stream().map(BookingMapper::objectToDto).collect(Collectors.toList());
     }
 
+    public List<BookingDto> getUsersBooking(Integer userId, String state, String after, Integer size) {
+
+        return getBookingsAfter(BookingSpecifications.bookedBy(userId), state, after, size);
+    }
+
+    public List<BookingDto> getBookingsForUsersItems(Integer userId, String state, String after, Integer size) {
+
+        return getBookingsAfter(BookingSpecifications.ownedBy(userId), state, after, size);
+    }
+
+    private List<BookingDto> getBookingsAfter(Specification<Booking> user, String state, String after, Integer size) {
+
+        if (size <= 0) {
+            throw new BadRequestException("size is greater than 0");
+        }
+
+        PageCursor cursor = after == null || after.isBlank() ? null : PageCursor.parse(after);
+        List<Booking> bookings = bookingRepository.findAllAfter(
+                user.and(BookingSpecifications.inState(state, LocalDateTime.now())), cursor, size);
+
+        log.info("Getting a page of bookings in state {} after {} \nresult: {}", state, cursor, bookings);
+
+        return bookings.stream().map(BookingMapper::objectToDto).collect(Collectors.toList());
+    }
+
     private PageRequest pageableCreator(Integer from, Integer size, String sort) {
 
-        return PageRequest.of(from / size, size, Sort.by(sort).descending());
+        return PageRequest.of(from / size, size, Sort.by(Sort.Order.desc(sort), Sort.Order.desc("id")));
     }
 }
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> bookedBy(Integer userId) {
+
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), userId);
+    }
+
+    public static Specification<Booking> ownedBy(Integer userId) {
+
+        return (root, query, builder) -> builder.equal(root.get("item").get("owner").get("id"), userId);
+    }
+
+    public static Specification<Booking> inState(String state, LocalDateTime dateTime) {
+
+        switch (state) {
+            case "ALL":
+                return (root, query, builder) -> builder.conjunction();
+            case "CURRENT":
+                return (root, query, builder) -> builder.and(
+                        builder.lessThan(root.get("start"), dateTime),
+                        builder.greaterThan(root.get("end"), dateTime));
+            case "PAST":
+                return (root, query, builder) -> builder.lessThan(root.get("end"), dateTime);
+            case "FUTURE":
+                return (root, query, builder) -> builder.greaterThan(root.get("start"), dateTime);
+            case "WAITING":
+                return (root, query, builder) -> builder.equal(root.get("status"), BookingStatus.WAITING);
+            case "REJECTED":
+                return (root, query, builder) -> root.get("status")
+                        .in(Set.of(BookingStatus.REJECTED, BookingStatus.CANCELED));
+            default:
+                throw new BadRequestException("Unknown state: " + state);
+        }
+    }
+}
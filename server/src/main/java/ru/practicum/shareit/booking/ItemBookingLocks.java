@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped per-item locks that serialize overlap checks for the same item inside one instance.
+ * A lock is held until the surrounding transaction completes, so the next writer sees the committed booking.
+ * On PostgreSQL the bookings_approved_no_overlap exclusion constraint also covers several instances.
+ */
+@Component
+public class ItemBookingLocks {
+
+    private final Lock[] stripes;
+
+    public ItemBookingLocks(@Value("${shareit.booking.lock-stripes:64}") int stripes) {
+
+        this.stripes = new Lock[stripes];
+
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void lockUntilCompletion(Integer itemId) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Item locks can only be taken inside a transaction");
+        }
+
+        Lock lock = stripes[Math.floorMod(itemId.hashCode(), stripes.length)];
+
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+
+                lock.unlock();
+            }
+        });
+    }
+}
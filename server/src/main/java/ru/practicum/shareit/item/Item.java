@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
@@ -33,4 +34,14 @@ public class Item {
     @OneToOne
     @JoinColumn(name = "request_id")
     private ItemRequest request;
+    @JsonIgnore
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+    @JsonIgnore
+    @Column(name = "card_version", nullable = false, insertable = false, updatable = false)
+    private Integer cardVersion;
+    @JsonIgnore
+    @Column(name = "bookings_version", nullable = false, insertable = false, updatable = false)
+    private Integer bookingsVersion;
 }
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.comment.CommentDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -13,6 +17,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemReadCoalescer itemReadCoalescer;
 
     @GetMapping
     public List<ItemDto> findAllItemsByOwnerId(@RequestHeader("X-Sharer-User-Id") Integer userId,
@@ -23,10 +28,23 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDto findItemById(@PathVariable int itemId,
-                                @RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public ResponseEntity<ItemDto> findItemById(@PathVariable int itemId,
+                                                @RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                List<String> ifNoneMatch) {
 
-        return itemService.findItemById(itemId, userId);
+        if (ifNoneMatch != null) {
+            Optional<String> etag = itemService.findMatchingEtag(itemId, userId, ifNoneMatch);
+
+            if (etag.isPresent()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+            }
+        }
+
+        ItemDto itemDto = itemReadCoalescer.load(itemId, itemService.isOwner(itemId, userId),
+                () -> itemService.findItemById(itemId, userId));
+
+        return ResponseEntity.ok().eTag(itemDto.getEtag()).body(itemDto);
     }
 
     @PostMapping
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import ru.practicum.shareit.booking.BookingDtoMini;
 import ru.practicum.shareit.item.comment.CommentDto;
@@ -25,4 +26,7 @@ public class ItemDto {
     private BookingDtoMini lastBooking;
     private BookingDtoMini nextBooking;
     private List<CommentDto> comments;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String etag;
 }
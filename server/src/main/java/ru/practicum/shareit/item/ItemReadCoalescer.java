@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for item card reads: concurrent reads of the same item from the same side (owner or not) share one
+ * load, and everyone waiting gets its result or its exception. Runs outside the read transaction so callers that wait
+ * do not hold a pooled connection. Disabled with {@code shareit.items.coalescing.enabled=false}.
+ */
+@Component
+public class ItemReadCoalescer {
+
+    private final ConcurrentMap<Key, CompletableFuture<ItemDto>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public ItemReadCoalescer(MeterRegistry meterRegistry,
+                             @Value("${shareit.items.coalescing.enabled:true}") boolean enabled) {
+
+        this.enabled = enabled;
+        this.executed = meterRegistry.counter("items.reads", "result", "executed");
+        this.coalesced = meterRegistry.counter("items.reads", "result", "coalesced");
+    }
+
+    public ItemDto load(int itemId, boolean owner, Supplier<ItemDto> loader) {
+
+        if (!enabled) {
+            executed.increment();
+            return loader.get();
+        }
+
+        Key key = new Key(itemId, owner);
+        CompletableFuture<ItemDto> flight = new CompletableFuture<>();
+        CompletableFuture<ItemDto> leader = inFlight.putIfAbsent(key, flight);
+
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        executed.increment();
+        try {
+            ItemDto itemDto = loader.get();
+
+            flight.complete(itemDto);
+            return itemDto;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static ItemDto await(CompletableFuture<ItemDto> flight) {
+
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+
+        private final int itemId;
+        private final boolean owner;
+    }
+}
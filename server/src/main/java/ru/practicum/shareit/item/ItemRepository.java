@@ -1,20 +1,71 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
-    Collection<Item> findAllByOwnerId(Integer userId, PageRequest of);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    List<Item> findAllByOwnerId(Integer userId, PageRequest of);
 
     @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%'))" +
-            "and i.available = true")
+            "where i.available = true " +
+            "and (upper(i.name) like upper(concat('%', ?1, '%')) escape '\\' " +
+            " or upper(i.description) like upper(concat('%', ?1, '%')) escape '\\') " +
+            "order by case " +
+            " when upper(i.name) like upper(concat(?1, '%')) escape '\\' then 0 " +
+            " when upper(i.name) like upper(concat('% ', ?1, '%')) escape '\\' then 1 " +
+            " when upper(i.name) like upper(concat('%', ?1, '%')) escape '\\' then 2 " +
+            " when upper(i.description) like upper(concat(?1, '%')) escape '\\' " +
+            "  or upper(i.description) like upper(concat('% ', ?1, '%')) escape '\\' then 3 " +
+            " else 4 end, i.id")
     List<Item> search(String text, PageRequest created);
 
-    List<Item> findAllByRequestId(int itemRequestId);
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    List<Item> findAllByIdIn(Collection<Integer> itemIds);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    List<Item> findAllByRequestIdIn(Collection<Integer> itemRequestIds);
+
+    @Query("select new ru.practicum.shareit.item.ItemSearchText(i.id, i.name, i.description) from Item i " +
+            "where i.available = true")
+    List<ItemSearchText> findAllSearchTexts();
+
+    @Query("select new ru.practicum.shareit.item.ItemVersion(i.id, i.owner.id, i.version, i.cardVersion, " +
+            "i.bookingsVersion) from Item i where i.id = ?1")
+    Optional<ItemVersion> findVersionById(Integer itemId);
+
+    /**
+     * Invalidates the card of an item after a comment on it, seen by everyone.
+     */
+    @Modifying
+    @Query("update Item i set i.cardVersion = i.cardVersion + 1 where i.id = ?1")
+    void touchCard(Integer itemId);
+
+    /**
+     * Invalidates the cards showing a user, as owner or comment author, after the user changes.
+     */
+    @Modifying
+    @Query("update Item i set i.cardVersion = i.cardVersion + 1 " +
+            "where i.owner.id = ?1 or i.id in (select c.item.id from Comment c where c.author.id = ?1)")
+    void touchCardsOfUser(Integer userId);
+
+    /**
+     * Invalidates the owner's card of an item after a booking of it is decided or deleted.
+     */
+    @Modifying
+    @Query("update Item i set i.bookingsVersion = i.bookingsVersion + 1 where i.id = ?1")
+    void touchBookings(Integer itemId);
+
+    @Cacheable(cacheNames = "itemOwners", unless = "#result == null")
+    @Query("select i.owner.id from Item i where i.id = ?1")
+    Optional<Integer> findOwnerIdById(Integer itemId);
 }
@@ -0,0 +1,373 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over available items, enabled with {@code shareit.search.index.enabled=true}.
+ * Candidates are re-checked and ranked like {@link ItemRepository#search}, so results match the database search.
+ * Queries shorter than a trigram have no postings to narrow them down and are left to the database.
+ */
+@Service
+@Slf4j
+public class ItemSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Loaded under the lock: index() and delete() committed meanwhile wait and apply on top of the snapshot
+            List<ItemSearchText> items = itemRepository.findAllSearchTexts();
+
+            postings.clear();
+            documents.clear();
+            for (ItemSearchText item : items) {
+                add(item.getItemId(), item.getName(), item.getDescription(), true);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Item search index built: {} items, {} trigrams", documents.size(), postings.size());
+    }
+
+    public boolean isReady() {
+
+        return ready;
+    }
+
+    /**
+     * Whether {@link #search} can answer this query, i.e. the index is built and the query spans a trigram.
+     */
+    public boolean covers(String text) {
+
+        return ready && text.trim().length() >= GRAM;
+    }
+
+    public void index(Item item) {
+
+        if (!enabled) {
+            return;
+        }
+
+        Integer itemId = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        Boolean available = item.getAvailable();
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(itemId);
+                add(itemId, name, description, available);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void delete(int itemId) {
+
+        if (!enabled) {
+            return;
+        }
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<Integer> search(String text, int offset, int limit) {
+
+        String query = text.trim().toUpperCase(Locale.ROOT);
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(query);
+
+            for (int itemId : candidates) {
+                int rank = documents.get(itemId).rank(query);
+
+                if (rank >= 0) {
+                    matches.add(new Match(itemId, rank));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingInt(Match::getRank).thenComparingInt(Match::getItemId));
+
+        List<Integer> page = new ArrayList<>(Math.min(limit, Math.max(matches.size() - offset, 0)));
+
+        for (int i = offset; i < matches.size() && page.size() < limit; i++) {
+            page.add(matches.get(i).getItemId());
+        }
+
+        return page;
+    }
+
+    private int[] candidates(String query) {
+
+        if (query.length() < GRAM) {
+            throw new IllegalArgumentException("Queries shorter than " + GRAM + " characters are not indexed");
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+
+        for (String gram : grams(query)) {
+            PostingList list = postings.get(gram);
+
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        int[] result = lists.get(0).toArray();
+
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).retainAll(result);
+        }
+
+        return result;
+    }
+
+    private void add(Integer itemId, String name, String description, Boolean available) {
+
+        if (!Boolean.TRUE.equals(available)) {
+            return;
+        }
+
+        Document document = new Document(upper(name), upper(description));
+
+        documents.put(itemId, document);
+
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(itemId);
+        }
+    }
+
+    private void remove(Integer itemId) {
+
+        Document document = documents.remove(itemId);
+
+        if (document == null) {
+            return;
+        }
+
+        for (String gram : document.grams()) {
+            PostingList list = postings.get(gram);
+
+            list.remove(itemId);
+            if (list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+
+                action.run();
+            }
+        });
+    }
+
+    private static String upper(String value) {
+
+        return value == null ? "" : value.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String value) {
+
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+
+        return grams;
+    }
+
+    private static final class Document {
+
+        private final String name;
+        private final String description;
+
+        private Document(String name, String description) {
+
+            this.name = name;
+            this.description = description;
+        }
+
+        private Set<String> grams() {
+
+            Set<String> grams = ItemSearchIndex.grams(name);
+
+            grams.addAll(ItemSearchIndex.grams(description));
+
+            return grams;
+        }
+
+        private int rank(String query) {
+
+            if (name.startsWith(query)) {
+                return 0;
+            }
+            if (name.contains(" " + query)) {
+                return 1;
+            }
+            if (name.contains(query)) {
+                return 2;
+            }
+            if (description.startsWith(query) || description.contains(" " + query)) {
+                return 3;
+            }
+            if (description.contains(query)) {
+                return 4;
+            }
+
+            return -1;
+        }
+    }
+
+    private static final class Match {
+
+        private final int itemId;
+        private final int rank;
+
+        private Match(int itemId, int rank) {
+
+            this.itemId = itemId;
+            this.rank = rank;
+        }
+
+        private int getItemId() {
+
+            return itemId;
+        }
+
+        private int getRank() {
+
+            return rank;
+        }
+    }
+
+    private static final class PostingList {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        private int size() {
+
+            return size;
+        }
+
+        private void add(int itemId) {
+
+            int index = Arrays.binarySearch(ids, 0, size, itemId);
+
+            if (index >= 0) {
+                return;
+            }
+
+            index = -index - 1;
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = itemId;
+            size++;
+        }
+
+        private void remove(int itemId) {
+
+            int index = Arrays.binarySearch(ids, 0, size, itemId);
+
+            if (index < 0) {
+                return;
+            }
+
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        private int[] toArray() {
+
+            return Arrays.copyOf(ids, size);
+        }
+
+        private int[] retainAll(int[] sortedIds) {
+
+            int[] result = new int[Math.min(sortedIds.length, size)];
+            int count = 0;
+            int from = 0;
+
+            for (int itemId : sortedIds) {
+                int index = Arrays.binarySearch(ids, from, size, itemId);
+
+                if (index >= 0) {
+                    result[count++] = itemId;
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+                if (from >= size) {
+                    break;
+                }
+            }
+
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The text of an available item the search index is built from, read without loading the item, its owner or request.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemSearchText {
+
+    private Integer itemId;
+    private String name;
+    private String description;
+}
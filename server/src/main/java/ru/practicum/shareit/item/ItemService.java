@@ -2,8 +2,11 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.*;
 import ru.practicum.shareit.exceptions.BadRequestException;
@@ -15,7 +18,9 @@ import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,11 +29,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemService {
 
+    private static final Set<BookingStatus> ACTIVE_STATUSES = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final BookingRepository bookingRepository;
+    private final ItemSearchIndex itemSearchIndex;
 
     private PageRequest pageableCreator(Integer from, Integer size) {
 
@@ -38,32 +46,32 @@ public class ItemService {
     public List<ItemDto> findAllByOwnerId(Integer userId, Integer from, Integer size) {
 
         log.info("I received a request to search for all the items added by the user to the id " + userId);
-        Collection<Item> items = itemRepository.findAllByOwnerId(userId, pageableCreator(from, size));
-        List<Booking> bookingList = bookingRepository.findAllByItemIn(items).stream()
-                .filter((booking) -> booking.getStatus().equals(BookingStatus.WAITING) || booking.getStatus().equals(BookingStatus.APPROVED))
-                .collect(Collectors.toList());
-        Map<Item, List<Booking>> itemsMap = new HashMap<>();
-        List<ItemDto> itemDtoList = new ArrayList<>();
-
-        for (Item item : items) {
 
-            List<Booking> itemsBooking = new ArrayList<>();
+        List<Item> items = itemRepository.findAllByOwnerId(userId, PageRequest.of(from / size, size, Sort.by("id")));
 
-            for (Booking booking : bookingList) {
-                if (booking.getItem().getId().equals(item.getId())) {
-
-                    itemsBooking.add(booking);
-                }
-            }
-
-            itemsMap.put(item, itemsBooking);
+        if (items.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        for (Map.Entry<Item, List<Booking>> itemListEntry : itemsMap.entrySet()) {
-            itemDtoList.add(addData(itemListEntry.getKey(), itemListEntry.getValue()));
-        }
+        List<Integer> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, BookingDtoMini> lastBookings = bookingRepository
+                .findLastBookings(itemIds, ACTIVE_STATUSES, now).stream()
+                .collect(Collectors.toMap(BookingDtoMini::getItemId, Function.identity(), (first, second) -> first));
+        Map<Integer, BookingDtoMini> nextBookings = bookingRepository
+                .findNextBookings(itemIds, ACTIVE_STATUSES, now).stream()
+                .collect(Collectors.toMap(BookingDtoMini::getItemId, Function.identity(), (first, second) -> first));
+        Map<Integer, List<Comment>> commentsByItem = commentRepository.findAllByItemIdInOrderByCreatedDesc(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        List<ItemDto> itemDtoList = new ArrayList<>(items.size());
 
-        itemDtoList.sort(Comparator.comparing(ItemDto::getId));
+        for (Item item : items) {
+            itemDtoList.add(addData(item,
+                    lastBookings.get(item.getId()),
+                    nextBookings.get(item.getId()),
+                    commentsByItem.getOrDefault(item.getId(), List.of())));
+        }
 
         return itemDtoList;
     }
@@ -73,69 +81,147 @@ public class ItemService {
 
         log.info("Searching for a item with an id " + itemId);
 
-        Optional<Item> items = itemRepository.findById(itemId);
-
-        if (items.isEmpty()) {
-            throw new ObjectNotFoundException("There is no item with this id");
-        }
-
-        Item item = items.get();
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ObjectNotFoundException("There is no item with this id"));
+        ItemVersion version = ItemVersion.of(item);
 
         if (!item.getOwner().getId().equals(userId)) {
 
             ItemDto itemDto = ItemMapper.objectToDto(item);
-            List<CommentDto> commentList = commentRepository.findAllByItemInOrderByCreatedDesc(List.of(item)).stream()
+            List<CommentDto> commentList = commentRepository.findAllByItemIdInOrderByCreatedDesc(List.of(item.getId()))
+                    .stream()
                     .map(CommentMapper::objectToDto)
                     .collect(Collectors.toList());
 
             itemDto.setComments(Objects.requireNonNullElseGet(commentList, ArrayList::new));
+            itemDto.setEtag(etag(version, false, null, null));
 
             return itemDto;
         }
 
-        List<Booking> bookingList = bookingRepository.findAllByItem(item).stream()
-                .filter((booking) -> booking.getStatus().equals(BookingStatus.WAITING) || booking.getStatus().equals(BookingStatus.APPROVED))
-                .collect(Collectors.toList());
+        List<Integer> itemIds = List.of(item.getId());
+        LocalDateTime now = LocalDateTime.now();
+        BookingDtoMini nextBooking = bookingRepository.findNextBookings(itemIds, ACTIVE_STATUSES, now).stream()
+                .findFirst().orElse(null);
+        ItemDto itemDto = addData(item,
+                bookingRepository.findLastBookings(itemIds, ACTIVE_STATUSES, now).stream().findFirst().orElse(null),
+                nextBooking,
+                commentRepository.findAllByItemIdInOrderByCreatedDesc(List.of(item.getId())));
 
-        return addData(items.get(), bookingList);
+        itemDto.setEtag(etag(version, true, bookingRepository.findLatestIdByItemId(itemId).orElse(0), nextBooking));
+
+        return itemDto;
     }
 
-    public ItemDto addData(Item item, List<Booking> bookingList) {
+    /**
+     * Item owners never change, so the lookup is cached and does not open a transaction on a hit.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean isOwner(int itemId, Integer userId) {
 
-        ItemDto itemDto = ItemMapper.objectToDto(item);
-        LocalDateTime now = LocalDateTime.now();
-        Booking lastBooking = bookingList.stream()
-                .filter(x -> x.getStart().isBefore(now))
-                .max(Comparator.comparing(Booking::getStart))
-                .orElse(null);
-        Booking nextBooking = bookingList.stream()
-                .filter(x -> x.getStart().isAfter(now))
-                .min(Comparator.comparing(Booking::getStart))
-                .orElse(null);
-        List<CommentDto> commentList = commentRepository.findAllByItemInOrderByCreatedDesc(List.of(item)).stream()
-                .map(CommentMapper::objectToDto)
-                .collect(Collectors.toList());
+        return itemRepository.findOwnerIdById(itemId).map(ownerId -> ownerId.equals(userId)).orElse(false);
+    }
 
-        itemDto.setComments(Objects.requireNonNullElseGet(commentList, ArrayList::new));
+    /**
+     * Returns the tag from {@code etags} that still describes the item card for this viewer, checked with one
+     * primary-key read of the version columns instead of building the card. The owner's tag also covers the newest
+     * booking id and expires when the next booking starts, since that booking then becomes the last one.
+     */
+    public Optional<String> findMatchingEtag(int itemId, Integer userId, List<String> etags) {
 
-        if (lastBooking == null) {
-            itemDto.setLastBooking(null);
-        } else {
-            itemDto.setLastBooking(BookingMapper.objectToDtoMini(lastBooking));
+        Optional<ItemVersion> version = itemRepository.findVersionById(itemId);
+
+        if (version.isEmpty()) {
+            return Optional.empty();
         }
-        if (nextBooking == null) {
-            itemDto.setNextBooking(null);
-        } else {
-            itemDto.setNextBooking(BookingMapper.objectToDtoMini(nextBooking));
+
+        boolean owner = version.get().getOwnerId().equals(userId);
+        String current = etag(version.get(), owner,
+                owner ? bookingRepository.findLatestIdByItemId(itemId).orElse(0) : null, null);
+        String prefix = current.substring(0, current.length() - 1);
+        long now = LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        for (String etag : etags) {
+            String tag = etag.trim().startsWith("W/") ? etag.trim().substring(2) : etag.trim();
+
+            if (tag.equals(current)) {
+                return Optional.of(tag);
+            }
+            if (owner && tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > current.length()) {
+                String expires = tag.substring(prefix.length(), tag.length() - 1);
+
+                if (expires.chars().allMatch(Character::isDigit) && Long.parseLong(expires) > now) {
+                    return Optional.of(tag);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static String etag(ItemVersion version, boolean owner, Integer latestBookingId, BookingDtoMini nextBooking) {
+
+        if (!owner) {
+            return "\"" + version.tag(false) + "\"";
+        }
+
+        String expires = nextBooking == null ? ""
+                : String.valueOf(nextBooking.getStart().toInstant(ZoneOffset.UTC).toEpochMilli());
+
+        return "\"" + version.tag(true) + "." + latestBookingId + ".o" + expires + "\"";
+    }
+
+    /**
+     * Makes {@code %} and {@code _} literal in {@link ItemRepository#search}, as they are in the search index.
+     */
+    private static String escapeLike(String text) {
+
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public ItemDto addData(Item item, List<Booking> bookingList) {
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking lastBooking = null;
+        Booking nextBooking = null;
+
+        for (Booking booking : bookingList) {
+            if (booking.getStart().isBefore(now)) {
+                if (lastBooking == null || booking.getStart().isAfter(lastBooking.getStart())) {
+                    lastBooking = booking;
+                }
+            } else if (booking.getStart().isAfter(now)) {
+                if (nextBooking == null || booking.getStart().isBefore(nextBooking.getStart())) {
+                    nextBooking = booking;
+                }
+            }
         }
 
+        return addData(item,
+                lastBooking == null ? null : BookingMapper.objectToDtoMini(lastBooking),
+                nextBooking == null ? null : BookingMapper.objectToDtoMini(nextBooking),
+                commentRepository.findAllByItemIdInOrderByCreatedDesc(List.of(item.getId())));
+    }
+
+    private ItemDto addData(Item item, BookingDtoMini lastBooking, BookingDtoMini nextBooking, List<Comment> comments) {
+
+        ItemDto itemDto = ItemMapper.objectToDto(item);
+
+        itemDto.setComments(comments.stream()
+                .map(CommentMapper::objectToDto)
+                .collect(Collectors.toList()));
+        itemDto.setLastBooking(lastBooking);
+        itemDto.setNextBooking(nextBooking);
+
         return itemDto;
     }
 
     public ItemDto createItem(ItemDto dto, Integer userId) {
 
-        Item item = itemMapper.dtoToObject(dto, userId);
-        ItemDto itemDto = ItemMapper.objectToDto(itemRepository.save(item));
+        Item item = itemRepository.save(itemMapper.dtoToObject(dto, userId));
+        ItemDto itemDto = ItemMapper.objectToDto(item);
+
+        itemSearchIndex.index(item);
 
         log.info("I received a request to create a item " + itemDto);
 
@@ -171,15 +257,19 @@ public class ItemService {
         Item newItem = itemRepository.save(oldItem);
         ItemDto itemDto = ItemMapper.objectToDto(newItem);
 
+        itemSearchIndex.index(newItem);
+
         log.info("I received a request to update a item\n" + itemDto);
 
         return itemDto;
     }
 
+    @CacheEvict(cacheNames = "itemOwners", key = "#itemId")
     public void deleteItem(int itemId, Integer userId) {
 
         if (findItemById(itemId, userId).getOwner().getId().equals(userId)) {
             itemRepository.deleteById(itemId);
+            itemSearchIndex.delete(itemId);
         } else {
             throw new ValidateException("Only its owner can delete an item");
         }
@@ -195,17 +285,28 @@ public class ItemService {
             return new ArrayList<>();
         }
 
-        Set<Item> itemSet = new HashSet<>(itemRepository.search(text, pageableCreator(from, size)));
+        if (itemSearchIndex.covers(text)) {
+
+            List<Integer> itemIds = itemSearchIndex.search(text, from / size * size, size);
+            Map<Integer, Item> itemsById = itemRepository.findAllByIdIn(itemIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+            return itemIds.stream()
+                    .map(itemsById::get)
+                    .filter(Objects::nonNull)
+                    .map(ItemMapper::objectToDto)
+                    .collect(Collectors.toList());
+        }
 
-        return itemSet.stream()
+        return itemRepository.search(escapeLike(text.trim()), pageableCreator(from, size)).stream()
                 .map(ItemMapper::objectToDto)
-                .sorted(Comparator.comparing(ItemDto::getId))
                 .collect(Collectors.toList());
     }
 
     public CommentDto createComment(CommentDto dto, Integer userId, int itemId) {
 
-        Item item = itemMapper.dtoToObject(findItemById(itemId, userId), userId);
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ObjectNotFoundException("There is no item with this id"));
         List<Booking> bookingList = Objects.requireNonNullElseGet(bookingRepository.findAllByItemIn(List.of(item)).stream()
                 .filter((booking) -> booking.getStatus().equals(BookingStatus.WAITING) || booking.getStatus().equals(BookingStatus.APPROVED))
                 .collect(Collectors.toList()), ArrayList::new);
@@ -218,6 +319,7 @@ public class ItemService {
                     && !booking.getStart().isAfter(dto.getCreated())) {
 
                 commentDto = CommentMapper.objectToDto(commentRepository.save(comment));
+                itemRepository.touchCard(itemId);
 
                 return commentDto;
             }
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The version columns an item card is derived from, read without loading the card: the item's own version, the card
+ * version bumped by comments and by changes to the users shown, and the bookings version the owner's card also
+ * depends on.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemVersion {
+
+    private Integer itemId;
+    private Integer ownerId;
+    private Integer version;
+    private Integer cardVersion;
+    private Integer bookingsVersion;
+
+    public static ItemVersion of(Item item) {
+
+        return new ItemVersion(item.getId(), item.getOwner().getId(), item.getVersion(), item.getCardVersion(),
+                item.getBookingsVersion());
+    }
+
+    public String tag(boolean owner) {
+
+        String tag = itemId + "." + version + "." + cardVersion;
+
+        return owner ? tag + "." + bookingsVersion : tag;
+    }
+}
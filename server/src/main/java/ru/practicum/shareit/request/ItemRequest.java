@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import ru.practicum.shareit.user.User;
 
@@ -27,4 +28,8 @@ public class ItemRequest {
     private User requestor;
     @Column(name = "created_date")
     private LocalDateTime created;
+    @JsonIgnore
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exceptions.BadRequestException;
 
 import java.util.List;
 
@@ -20,8 +21,16 @@ public class ItemRequestController {
 
     @GetMapping("/all")
     public List<ItemRequestDto> findAllRequest(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
-                                               @RequestParam(value = "from") Integer from,
-                                               @RequestParam(value = "size") Integer size) {
+                                               @RequestParam(value = "from", required = false) Integer from,
+                                               @RequestParam(value = "size") Integer size,
+                                               @RequestParam(value = "after", required = false) String after) {
+
+        if (after != null) {
+            return itemRequestService.findAllRequest(userId, after, size);
+        }
+        if (from == null) {
+            throw new BadRequestException("the from parameter is required without after");
+        }
 
         return itemRequestService.findAllRequest(userId, from, size);
     }
@@ -1,8 +1,26 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
 
+    @EntityGraph(attributePaths = {"requestor"})
+    @Query(value = "select r from ItemRequest r where r.requestor.id = ?1 order by r.created desc, r.id desc")
+    List<ItemRequest> findAllByRequestorIdOrderByCreatedDescIdDesc(Integer userId);
+
+    @EntityGraph(attributePaths = {"requestor"})
+    @Query(value = "select r from ItemRequest r where r.requestor.id <> ?1")
+    List<ItemRequest> findAllByRequestorIdNot(Integer userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"requestor"})
+    @Query(value = "select r from ItemRequest r where r.requestor.id <> ?1 " +
+            "and r.created <= ?2 and (r.created < ?2 or r.id < ?3) order by r.created desc, r.id desc")
+    List<ItemRequest> findAllByRequestorIdNotAfter(Integer userId, LocalDateTime created, Integer id, Pageable pageable);
 }
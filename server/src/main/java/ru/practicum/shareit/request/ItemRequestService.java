@@ -6,6 +6,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.item.ItemDtoMini;
@@ -14,8 +15,10 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -41,13 +44,15 @@ public class ItemRequestService {
 
     public ItemRequestDto updateRequest(ItemRequestDto itemRequestDto, Integer userId) {
 
-        ItemRequestDto oldItemRequestDto = findRequestById(itemRequestDto.getId(), userId);
+        findRequestById(itemRequestDto.getId(), userId);
+
+        ItemRequest itemRequest = itemRequestRepository.getReferenceById(itemRequestDto.getId());
 
         if (itemRequestDto.getDescription() != null) {
-            oldItemRequestDto.setDescription(itemRequestDto.getDescription());
+            itemRequest.setDescription(itemRequestDto.getDescription());
         }
 
-        ItemRequest itemRequest = itemRequestRepository.save(itemRequestMapper.dtoToObject(oldItemRequestDto, userId));
+        itemRequest = itemRequestRepository.save(itemRequest);
 
         return ItemRequestMapper.objectToDto(itemRequest);
     }
@@ -56,21 +61,12 @@ public class ItemRequestService {
 
         userService.findUserById(userId);
 
-        List<ItemRequestDto> itemRequestDtoList = itemRequestRepository.findAll().stream()
+        List<ItemRequestDto> itemRequestDtoList = itemRequestRepository
+                .findAllByRequestorIdOrderByCreatedDescIdDesc(userId).stream()
                 .map(ItemRequestMapper::objectToDto)
-                .filter(x -> x.getRequestor().getId().equals(userId))
-                .sorted(Comparator.comparing(ItemRequestDto::getCreated).reversed())
                 .collect(Collectors.toList());
 
-        for (ItemRequestDto itemRequestDto : itemRequestDtoList) {
-
-            itemRequestDto.setItems(
-                    itemRepository.findAllByRequestId(itemRequestDto.getId()).stream()
-                            .map(ItemMapper::objectToDtoMini)
-                            .sorted(Comparator.comparing(ItemDtoMini::getId))
-                            .collect(Collectors.toList())
-            );
-        }
+        addItems(itemRequestDtoList);
 
         return itemRequestDtoList;
     }
@@ -82,22 +78,39 @@ public class ItemRequestService {
         }
 
         List<ItemRequestDto> itemRequestDtoList = itemRequestRepository
-                .findAll(PageRequest.of(from / size, size, Sort.by("created").descending()))
-                .stream()
+                .findAllByRequestorIdNot(userId, PageRequest.of(from / size, size,
+                        Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id")))).stream()
                 .map(ItemRequestMapper::objectToDto)
-                .filter(x -> !x.getRequestor().getId().equals(userId))
                 .collect(Collectors.toList());
 
-        for (ItemRequestDto itemRequestDto : itemRequestDtoList) {
+        addItems(itemRequestDtoList);
+
+        return itemRequestDtoList;
+    }
+
+    public List<ItemRequestDto> findAllRequest(Integer userId, String after, Integer size) {
+
+        if (size <= 0) {
+            throw new BadRequestException("size is greater than 0");
+        }
+
+        List<ItemRequest> itemRequests;
 
-            itemRequestDto.setItems(
-                    itemRepository.findAllByRequestId(itemRequestDto.getId()).stream()
-                            .map(ItemMapper::objectToDtoMini)
-                            .sorted(Comparator.comparing(ItemDtoMini::getId))
-                            .collect(Collectors.toList())
-            );
+        if (after == null || after.isBlank()) {
+            itemRequests = itemRequestRepository.findAllByRequestorIdNot(userId, PageRequest.of(0, size,
+                    Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id"))));
+        } else {
+            PageCursor cursor = PageCursor.parse(after);
+            itemRequests = itemRequestRepository.findAllByRequestorIdNotAfter(userId, cursor.getTime(),
+                    cursor.getId(), PageRequest.of(0, size));
         }
 
+        List<ItemRequestDto> itemRequestDtoList = itemRequests.stream()
+                .map(ItemRequestMapper::objectToDto)
+                .collect(Collectors.toList());
+
+        addItems(itemRequestDtoList);
+
         return itemRequestDtoList;
     }
 
@@ -112,15 +125,29 @@ public class ItemRequestService {
 
         ItemRequestDto itemRequestDto = ItemRequestMapper.objectToDto(requests.get());
 
-        itemRequestDto.setItems(
-                itemRepository.findAllByRequestId(itemRequestId).stream()
-                        .map(ItemMapper::objectToDtoMini)
-                        .collect(Collectors.toList())
-        );
+        addItems(List.of(itemRequestDto));
 
         return itemRequestDto;
     }
 
+    private void addItems(List<ItemRequestDto> itemRequestDtoList) {
+
+        if (itemRequestDtoList.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<ItemDtoMini>> items = itemRepository.findAllByRequestIdIn(itemRequestDtoList.stream()
+                        .map(ItemRequestDto::getId)
+                        .collect(Collectors.toList())).stream()
+                .map(ItemMapper::objectToDtoMini)
+                .sorted(Comparator.comparing(ItemDtoMini::getId))
+                .collect(Collectors.groupingBy(ItemDtoMini::getRequestId));
+
+        for (ItemRequestDto itemRequestDto : itemRequestDtoList) {
+            itemRequestDto.setItems(items.getOrDefault(itemRequestDto.getId(), new ArrayList<>()));
+        }
+    }
+
 
     public void deleteRequest(int itemRequestId) {
 
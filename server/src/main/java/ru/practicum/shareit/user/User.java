@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import javax.persistence.*;
@@ -22,4 +23,8 @@ public class User {
     private String name;
     @Column(name = "email", nullable = false, length = 320, unique = true)
     private String email;
+    @JsonIgnore
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
 }
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,9 +22,20 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto findUserById(@PathVariable int userId) {
+    public ResponseEntity<UserDto> findUserById(@PathVariable int userId,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                List<String> ifNoneMatch) {
 
-        return userService.findUserById(userId);
+        UserDto user = userService.findUserById(userId);
+        String etag = UserMapper.etag(user);
+
+        if (ifNoneMatch != null && ifNoneMatch.stream()
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(etag::equals)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(user);
     }
 
     @PostMapping
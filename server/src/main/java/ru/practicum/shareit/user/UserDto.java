@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 @Setter
@@ -14,4 +15,7 @@ public class UserDto {
     private Integer id;
     private String name;
     private String email;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Integer version;
 }
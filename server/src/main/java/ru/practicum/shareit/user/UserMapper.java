@@ -11,6 +11,17 @@ public class UserMapper {
                 .id(user.getId())
                 .email(user.getEmail())
                 .name(user.getName())
+                .version(user.getVersion())
+                .build();
+    }
+
+    public static UserDto snapshotToDto(UserSnapshot user) {
+
+        return UserDto.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .name(user.getName())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -20,6 +31,12 @@ public class UserMapper {
                 .id(dto.getId())
                 .email(dto.getEmail())
                 .name(dto.getName())
+                .version(dto.getVersion())
                 .build();
     }
+
+    public static String etag(UserDto user) {
+
+        return "\"" + user.getId() + "." + user.getVersion() + "\"";
+    }
 }
@@ -1,7 +1,16 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 
 public interface UserRepository extends JpaRepository<User, Integer> {
+
+    @Cacheable(cacheNames = "users", unless = "#result == null")
+    @Query("select new ru.practicum.shareit.user.UserSnapshot(u.id, u.name, u.email, u.version) " +
+            "from User u where u.id = ?1")
+    Optional<UserSnapshot> findSnapshotById(Integer userId);
 }
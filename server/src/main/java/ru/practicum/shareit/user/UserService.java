@@ -2,12 +2,16 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,6 +22,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ItemRepository itemRepository;
+    private final CacheManager cacheManager;
 
     public List<UserDto> findAllUsers() {
 
@@ -30,13 +36,9 @@ public class UserService {
 
         log.info("Searching for a user with an id " + userId);
 
-        Optional<User> user = userRepository.findById(userId);
-
-        if (user.isEmpty()) {
-            throw new ObjectNotFoundException("There is no user with this id");
-        }
-
-        return UserMapper.objectToDto(user.get());
+        return userRepository.findSnapshotById(userId)
+                .map(UserMapper::snapshotToDto)
+                .orElseThrow(() -> new ObjectNotFoundException("There is no user with this id"));
     }
 
     public UserDto createUser(UserDto user) {
@@ -50,7 +52,8 @@ public class UserService {
 
     public UserDto updateUser(UserDto user) {
 
-        User oldUser = userMapper.dtoToObject(findUserById(user.getId()));
+        User oldUser = userRepository.findById(user.getId())
+                .orElseThrow(() -> new ObjectNotFoundException("There is no user with this id"));
 
         if (user.getName() != null) {
             oldUser.setName(user.getName());
@@ -59,7 +62,10 @@ public class UserService {
             oldUser.setEmail(user.getEmail());
         }
 
-        User newUser = userRepository.save(oldUser);
+        User newUser = userRepository.saveAndFlush(oldUser);
+
+        itemRepository.touchCardsOfUser(newUser.getId());
+        evictAfterCommit(newUser.getId());
 
         log.info("I received a request to update a user\n" + newUser);
 
@@ -69,7 +75,29 @@ public class UserService {
     public void deleteUser(int userId) {
 
         userRepository.deleteById(userId);
+        evictAfterCommit(userId);
 
         log.info("I received a request to delete a user with an id " + userId);
     }
+
+    /**
+     * Evicting before the commit would let a concurrent read cache the row as it was until then.
+     */
+    private void evictAfterCommit(Integer userId) {
+
+        Runnable evict = () -> Objects.requireNonNull(cacheManager.getCache("users")).evict(userId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+
+                evict.run();
+            }
+        });
+    }
 }
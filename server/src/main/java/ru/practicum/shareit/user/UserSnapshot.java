@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An immutable copy of a user, held in the {@code users} cache; callers get a fresh {@link UserDto} from it.
+ */
+@Getter
+@AllArgsConstructor
+public class UserSnapshot {
+
+    private final Integer id;
+    private final String name;
+    private final String email;
+    private final Integer version;
+}
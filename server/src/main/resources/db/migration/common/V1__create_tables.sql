@@ -1,9 +1,3 @@
-drop table if exists users cascade;
-drop table if exists request cascade;
-drop table if exists items cascade;
-drop table if exists bookings cascade;
-drop table if exists comments cascade;
-
 create table if not exists users (
 user_id int not null generated by default as identity primary key,
 name varchar(320) not null,
@@ -42,5 +36,3 @@ created timestamp without time zone not null,
 user_id int not null references users(user_id),
 item_id int references items(item_id)
 );
-
-
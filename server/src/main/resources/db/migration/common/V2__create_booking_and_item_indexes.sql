@@ -0,0 +1,11 @@
+create index if not exists bookings_booker_start_idx on bookings (user_id, start_date desc);
+
+create index if not exists bookings_item_status_start_idx on bookings (item_id, status, start_date);
+
+create index if not exists bookings_item_start_idx on bookings (item_id, start_date desc);
+
+create index if not exists items_owner_idx on items (user_id, item_id);
+
+create index if not exists items_request_idx on items (request_id);
+
+create index if not exists comments_item_created_idx on comments (item_id, created desc);
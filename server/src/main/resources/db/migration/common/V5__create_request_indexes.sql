@@ -0,0 +1,3 @@
+create index if not exists requests_requestor_created_idx on requests (user_id, created_date desc, request_id desc);
+
+create index if not exists requests_created_idx on requests (created_date desc, request_id desc);
@@ -0,0 +1,5 @@
+alter table users add column if not exists version int default 0 not null;
+
+alter table requests add column if not exists version int default 0 not null;
+
+alter table items add column if not exists version int default 0 not null;
@@ -0,0 +1,3 @@
+alter table items add column if not exists card_version int default 0 not null;
+
+alter table items add column if not exists bookings_version int default 0 not null;
@@ -0,0 +1,5 @@
+create extension if not exists pg_trgm;
+
+create index if not exists items_name_trgm_idx on items using gin (upper(name) gin_trgm_ops) where available;
+
+create index if not exists items_description_trgm_idx on items using gin (upper(description) gin_trgm_ops) where available;
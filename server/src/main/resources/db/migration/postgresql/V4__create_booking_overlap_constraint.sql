@@ -0,0 +1,24 @@
+create extension if not exists btree_gist;
+
+-- Existing overlaps would make the constraint below fail with no hint of which bookings clash: list them instead
+-- and stop, so they can be resolved before the migration is retried.
+do $$
+declare
+    overlaps text;
+begin
+    select string_agg(a.booking_id || '/' || b.booking_id, ', ' order by a.booking_id, b.booking_id)
+    into overlaps
+    from bookings a
+    join bookings b on b.item_id = a.item_id
+        and b.booking_id > a.booking_id
+        and tsrange(b.start_date, b.end_date) && tsrange(a.start_date, a.end_date)
+    where a.status = 'APPROVED'
+      and b.status = 'APPROVED';
+
+    if overlaps is not null then
+        raise exception 'Approved bookings of the same item overlap, resolve them before migrating: %', overlaps;
+    end if;
+end $$;
+
+alter table bookings add constraint bookings_approved_no_overlap
+    exclude using gist (item_id with =, tsrange(start_date, end_date) with &&) where (status = 'APPROVED');
@@ -0,0 +1,62 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.*;
+
+public class MethodMetricsTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MethodMetrics methodMetrics = new MethodMetrics(meterRegistry);
+
+    @Test
+    public void timeService_tagsAMissingStateAsUnknown() throws Throwable {
+
+        //given
+        ProceedingJoinPoint joinPoint = joinPoint(null);
+
+        //when
+        Object result = methodMetrics.timeService(joinPoint);
+
+        //then
+        assertEquals(result, List.of());
+        assertNotNull(meterRegistry.find("shareit.service").tag("state", "UNKNOWN").timer());
+    }
+
+    @Test
+    public void timeService_tagsKnownAndUnknownStates() throws Throwable {
+
+        //when
+        methodMetrics.timeService(joinPoint("PAST"));
+        methodMetrics.timeService(joinPoint("TOMORROW"));
+
+        //then
+        assertNotNull(meterRegistry.find("shareit.service").tag("state", "PAST").timer());
+        assertEquals(meterRegistry.find("shareit.service").tag("state", "UNKNOWN").timer().count(), 1);
+    }
+
+    private static ProceedingJoinPoint joinPoint(String state) throws Throwable {
+
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        MethodSignature signature = mock(MethodSignature.class);
+
+        doReturn(BookingService.class).when(signature).getDeclaringType();
+        doReturn(List.class).when(signature).getReturnType();
+        when(signature.getName()).thenReturn("getUsersBooking");
+        when(signature.getParameterNames()).thenReturn(new String[]{"userId", "state", "from", "size"});
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{1, state, 0, 10});
+        when(joinPoint.proceed()).thenReturn(List.of());
+
+        return joinPoint;
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class SchemaIndexTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void bookerBookings_useBookerStartIndex() {
+
+        assertIndexExists("bookings", "bookings_booker_start_idx");
+        assertNoTableScan("select * from bookings where user_id = 1 order by start_date desc limit 10");
+    }
+
+    @Test
+    public void lastAndNextBookings_useItemStatusStartIndex() {
+
+        assertIndexExists("bookings", "bookings_item_status_start_idx");
+        assertNoTableScan("select max(start_date) from bookings " +
+                "where item_id = 1 and status in ('WAITING', 'APPROVED') and start_date < current_timestamp");
+    }
+
+    @Test
+    public void ownerBookings_useOwnerAndItemIndexes() {
+
+        assertIndexExists("items", "items_owner_idx");
+        assertIndexExists("bookings", "bookings_item_start_idx");
+        assertNoTableScan("select b.* from bookings b join items i on i.item_id = b.item_id " +
+                "where i.user_id = 1 order by b.start_date desc limit 10");
+    }
+
+    @Test
+    public void ownerItems_useOwnerIndex() {
+
+        assertIndexExists("items", "items_owner_idx");
+        assertNoTableScan("select * from items where user_id = 1 order by item_id limit 10");
+    }
+
+    @Test
+    public void requestItems_useRequestIndex() {
+
+        assertIndexExists("items", "items_request_idx");
+        assertNoTableScan("select * from items where request_id = 1");
+    }
+
+    @Test
+    public void itemComments_useItemCreatedIndex() {
+
+        assertIndexExists("comments", "comments_item_created_idx");
+        assertNoTableScan("select * from comments where item_id in (1, 2) order by created desc");
+    }
+
+    @Test
+    public void ownRequests_useRequestorCreatedIndex() {
+
+        assertIndexExists("requests", "requests_requestor_created_idx");
+        assertNoTableScan("select * from requests where user_id = 1 order by created_date desc, request_id desc");
+    }
+
+    @Test
+    public void otherRequests_useCreatedIndex() {
+
+        assertIndexExists("requests", "requests_created_idx");
+        assertNoTableScan("select * from requests where user_id <> 1 order by created_date desc, request_id desc limit 10");
+    }
+
+    private void assertIndexExists(String table, String index) {
+
+        Set<String> indexes = jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            Set<String> names = new HashSet<>();
+
+            try (ResultSet resultSet = metaData.getIndexInfo(null, null, tableName, false, false)) {
+                while (resultSet.next()) {
+                    names.add(resultSet.getString("INDEX_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+
+            return names;
+        });
+
+        assertTrue(indexes.contains(index), "Expected " + index + " on " + table + ", found " + indexes);
+    }
+
+    private void assertNoTableScan(String sql) {
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class))
+                .toLowerCase(Locale.ROOT);
+
+        assertFalse(plan.contains("tablescan") || plan.contains("seq scan"), "Unexpected table scan in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions over {@link SqlStatistics} for the service tests: wrap the call under test in
+ * {@code SqlStatistics.start()} and {@code SqlStatistics.stop()}, then check what it cost.
+ */
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    public static void assertStatementsAtMost(int expected, SqlStatistics statistics) {
+
+        assertTrue(statistics.getStatements() <= expected,
+                "Expected at most " + expected + " statements, got " + statistics);
+    }
+
+    /**
+     * Fails on an N+1: the same statement prepared more than once within the measured call.
+     */
+    public static void assertNoRepeatedStatements(SqlStatistics statistics) {
+
+        assertTrue(statistics.mostRepeated().isEmpty(), "Repeated statement: " + statistics);
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.sql.debug-headers=true")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SqlStatisticsTests {
+
+    private final MockMvc mvc;
+    private final UserService userService;
+
+    @DirtiesContext
+    @Test
+    public void debugHeaders_reportTheStatementsAndEntitiesOfTheRequest() throws Exception {
+
+        //given
+        userService.createUser(UserDto.builder().name("user").email("user@user.com").build());
+        userService.createUser(UserDto.builder().name("user1").email("user1@user.com").build());
+
+        //then
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Sql-Statements", "1"))
+                .andExpect(header().string("X-Sql-Entities", "2"))
+                .andExpect(header().exists("X-Sql-Jdbc-Millis"))
+                .andExpect(header().doesNotExist("X-Sql-Repeated"));
+    }
+
+    @Test
+    public void stop_endsTheMeasurement_onTheCurrentThread() {
+
+        //given
+        SqlStatistics statistics = SqlStatistics.start();
+
+        //when
+        statistics.statement("select 1");
+        statistics.statement("select 1");
+        statistics.statement("select 2");
+        SqlStatistics.stop();
+
+        //then
+        assertEquals(statistics.getStatements(), 3);
+        assertEquals(statistics.mostRepeated().orElseThrow().getValue(), 2);
+        assertNull(SqlStatistics.stop());
+    }
+}
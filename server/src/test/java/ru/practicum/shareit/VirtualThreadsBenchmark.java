@@ -0,0 +1,167 @@
+package ru.practicum.shareit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Opt-in load test of the loadtest profile: {@code mvn test -Dtest=VirtualThreadsBenchmark -Dshareit.benchmark=true}.
+ * Runs /bookings/owner and /items/search with platform threads and, on Java 21+, with virtual threads; the Hikari
+ * pool stays at 10 connections in both runs. Throughput and latency are logged for comparison, not asserted; the
+ * profile raises logging to WARN, so this class's logger is kept at INFO.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+public class VirtualThreadsBenchmark {
+
+    private static final int ITEMS = 1_000;
+    private static final int BOOKINGS = 5_000;
+    private static final int CONCURRENCY = Integer.getInteger("shareit.benchmark.concurrency", 1_000);
+    private static final int REQUESTS = Integer.getInteger("shareit.benchmark.requests", 20_000);
+
+    @Test
+    public void loadtestProfile_servesOwnerBookingsAndSearch_withTheSamePool() throws Exception {
+
+        Result platform = run(false);
+
+        log.info("platform threads: {}", platform);
+
+        if (Runtime.version().feature() >= 21) {
+            Result virtual = run(true);
+
+            log.info("virtual threads:  {}", virtual);
+        } else {
+            log.info("virtual threads:  skipped, running on Java {}", Runtime.version());
+        }
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("loadtest")
+                .run("--server.port=0",
+                        "--shareit.threads.virtual=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest-" + virtualThreads,
+                        "--logging.level." + VirtualThreadsBenchmark.class.getName() + "=INFO")) {
+
+            assertEquals(10, context.getBean(HikariDataSource.class).getMaximumPoolSize());
+
+            seed(context.getBean(JdbcTemplate.class));
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<URI> uris = List.of(
+                    URI.create("http://localhost:" + port + "/bookings/owner?state=ALL&from=0&size=20"),
+                    URI.create("http://localhost:" + port + "/items/search?from=0&size=20&text="
+                            + URLEncoder.encode("дрель", StandardCharsets.UTF_8)));
+
+            load(port, uris, REQUESTS / 10);
+
+            return load(port, uris, REQUESTS);
+        }
+    }
+
+    private Result load(int port, List<URI> uris, int requests) throws Exception {
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[requests];
+        List<CompletableFuture<?>> responses = new ArrayList<>(requests);
+        long begin = System.nanoTime();
+
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            long start = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size()))
+                    .header("X-Sharer-User-Id", "1")
+                    .build();
+
+            inFlight.acquire();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        latencies[index] = System.nanoTime() - start;
+                        if (e != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                    }));
+        }
+
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+
+        long elapsed = System.nanoTime() - begin;
+
+        assertEquals(0, errors.get(), "Failed requests on port " + port);
+        Arrays.sort(latencies);
+
+        return new Result(requests * TimeUnit.SECONDS.toNanos(1) / elapsed,
+                TimeUnit.NANOSECONDS.toMillis(latencies[requests / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[requests * 99 / 100]));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+
+        jdbcTemplate.update("insert into users (name, email) values ('owner', 'owner@user.com')");
+        jdbcTemplate.update("insert into users (name, email) values ('booker', 'booker@user.com')");
+
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Object[]{"Дрель " + i, "Простая дрель " + i});
+        }
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(new Object[]{Timestamp.valueOf(now.minusHours(i + 1)), Timestamp.valueOf(now.minusHours(i)),
+                    1 + i % ITEMS});
+        }
+
+        jdbcTemplate.batchUpdate("insert into items (name, description, available, user_id) values (?, ?, true, 1)",
+                items);
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, status, user_id, item_id) "
+                + "values (?, ?, 'APPROVED', 2, ?)", bookings);
+    }
+
+    private static final class Result {
+
+        private final long requestsPerSecond;
+        private final long p50;
+        private final long p99;
+
+        private Result(long requestsPerSecond, long p50, long p99) {
+
+            this.requestsPerSecond = requestsPerSecond;
+            this.p50 = p50;
+            this.p99 = p99;
+        }
+
+        @Override
+        public String toString() {
+
+            return requestsPerSecond + " req/s, p50 " + p50 + " ms, p99 " + p99 + " ms";
+        }
+    }
+}
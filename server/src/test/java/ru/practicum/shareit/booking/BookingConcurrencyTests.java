@@ -0,0 +1,168 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingConcurrencyTests {
+
+    private static final int THREADS = 8;
+    private static final int BOOKINGS = 500;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemService itemService;
+    private final UserService userService;
+
+    @DirtiesContext
+    @Test
+    public void approveBooking_neverApprovesOverlappingBookings_underConcurrentLoad() throws Exception {
+
+        //given
+        UserDto owner = userService.createUser(UserDto.builder().name("owner").email("owner@user.com").build());
+        ItemDto item = itemService.createItem(ItemDto.builder().name("дрель").description("Простая дрель")
+                .available(true).build(), owner.getId());
+        List<UserDto> bookers = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userService.createUser(UserDto.builder().name("booker" + i)
+                    .email("booker" + i + "@user.com").build()));
+        }
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        Random random = new Random(42);
+        List<Callable<Long>> calls = new ArrayList<>();
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(300));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(4));
+            UserDto booker = bookers.get(i % THREADS);
+
+            calls.add(() -> {
+                long begin = System.nanoTime();
+                BookingDto booking = bookingService.createBooking(BookingDto.builder().itemId(item.getId())
+                        .start(start).end(end).build(), booker.getId());
+
+                try {
+                    bookingService.updateBooking(owner.getId(), booking.getId(), true);
+                } catch (BadRequestException e) {
+                    bookingService.updateBooking(owner.getId(), booking.getId(), false);
+                }
+
+                return System.nanoTime() - begin;
+            });
+        }
+
+        //when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Long> latencies = new ArrayList<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        try {
+            for (Future<Long> future : executor.invokeAll(calls)) {
+                try {
+                    latencies.add(future.get());
+                } catch (ExecutionException e) {
+                    failures.incrementAndGet();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        //then
+        List<Booking> approved = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .sorted(Comparator.comparing(Booking::getStart))
+                .collect(Collectors.toList());
+
+        assertTrue(failures.get() == 0, "Failed calls: " + failures.get());
+        assertTrue(approved.size() > 0);
+        for (int i = 1; i < approved.size(); i++) {
+            assertTrue(!approved.get(i).getStart().isBefore(approved.get(i - 1).getEnd()),
+                    "Overlapping bookings " + approved.get(i - 1).getId() + " and " + approved.get(i).getId());
+        }
+
+        Collections.sort(latencies);
+        long p99 = TimeUnit.NANOSECONDS.toMillis(latencies.get(latencies.size() * 99 / 100 - 1));
+
+        assertTrue(p99 < 2000, "p99 create+approve latency " + p99 + " ms");
+    }
+
+    @DirtiesContext
+    @Test
+    public void updateBooking_decidesABookingOnce_underConcurrentApproveAndReject() throws Exception {
+
+        //given
+        UserDto owner = userService.createUser(UserDto.builder().name("owner").email("owner@user.com").build());
+        UserDto booker = userService.createUser(UserDto.builder().name("booker").email("booker@user.com").build());
+        ItemDto item = itemService.createItem(ItemDto.builder().name("дрель").description("Простая дрель")
+                .available(true).build(), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        List<Integer> bookingIds = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            bookingIds.add(bookingService.createBooking(BookingDto.builder().itemId(item.getId())
+                    .start(start.plusHours(i)).end(start.plusHours(i + 1)).build(), booker.getId()).getId());
+        }
+
+        //when
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicInteger decisions = new AtomicInteger();
+
+        try {
+            for (Integer bookingId : bookingIds) {
+                CountDownLatch ready = new CountDownLatch(1);
+                List<Callable<Void>> calls = new ArrayList<>();
+
+                for (boolean available : new boolean[]{true, false}) {
+                    calls.add(() -> {
+                        ready.await();
+                        try {
+                            bookingService.updateBooking(owner.getId(), bookingId, available);
+                            decisions.incrementAndGet();
+                        } catch (BadRequestException ignored) {
+                            // the other decision came first
+                        }
+                        return null;
+                    });
+                }
+
+                List<Future<Void>> futures = new ArrayList<>();
+
+                for (Callable<Void> call : calls) {
+                    futures.add(executor.submit(call));
+                }
+                ready.countDown();
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        //then
+        assertTrue(decisions.get() == bookingIds.size(), "Decisions made: " + decisions.get());
+    }
+}
@@ -7,9 +7,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,8 +22,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = BookingController.class)
 public class BookingControllerTests {
@@ -158,4 +159,55 @@ public class BookingControllerTests {
 
         verify(bookingService, times(1)).getBookingsForUsersItems(anyInt(), anyString(), anyInt(), anyInt());
     }
+
+    @Test
+    void getBookingsForUsersItemsAfterCursor() throws Exception {
+
+        when(bookingService.getBookingsForUsersItems(anyInt(), anyString(), anyString(), anyInt())).thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings/owner?state=ALL&size=10&after=2023-05-01T10:00:00,5")
+                        .header("X-Sharer-User-Id", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
+
+        verify(bookingService, times(1)).getBookingsForUsersItems(1, "ALL", "2023-05-01T10:00:00,5", 10);
+        verify(bookingService, never()).getBookingsForUsersItems(anyInt(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getBookingsForUsersItemsWithoutFromOrAfter() throws Exception {
+
+        mvc.perform(get("/bookings/owner?state=ALL&size=10")
+                        .header("X-Sharer-User-Id", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).getBookingsForUsersItems(anyInt(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void exportBookings() throws Exception {
+
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingService).exportBookings(any());
+
+        MvcResult result = mvc.perform(get("/bookings/export")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(bookingService, times(1)).exportBookings(any());
+    }
 }
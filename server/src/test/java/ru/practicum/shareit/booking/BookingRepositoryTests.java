@@ -1,25 +1,32 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class BookingRepositoryTests {
     @Autowired
     private BookingRepository bookingRepository;
@@ -27,6 +34,10 @@ public class BookingRepositoryTests {
     private ItemRepository itemRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private TestEntityManager entityManager;
     private User owner;
     private User booker;
     private Item item;
@@ -195,4 +206,79 @@ public class BookingRepositoryTests {
         assertEquals(bookingList.get(0).getBooker().getId(), newBooking.getBooker().getId());
     }
 
+    @DirtiesContext
+    @Test
+    public void findLastAndNextBookings_returnTheNearestBookingsPerItem_underNormalConditions() {
+
+        //given
+        Booking pastBooking = bookingRepository.save(Booking.builder().id(5).start(LocalDateTime.now().minusHours(10))
+                .end(LocalDateTime.now().minusHours(3)).booker(booker).item(item).status(BookingStatus.APPROVED).build());
+        bookingRepository.save(Booking.builder().id(6).start(LocalDateTime.now().minusHours(20))
+                .end(LocalDateTime.now().minusHours(15)).booker(booker).item(item).status(BookingStatus.APPROVED).build());
+        bookingRepository.save(Booking.builder().id(7).start(LocalDateTime.now().minusHours(5))
+                .end(LocalDateTime.now().minusHours(4)).booker(booker).item(item).status(BookingStatus.REJECTED).build());
+        Set<BookingStatus> statuses = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        //when
+        List<BookingDtoMini> lastBookings = bookingRepository.findLastBookings(List.of(item.getId()), statuses, dateTime);
+        List<BookingDtoMini> nextBookings = bookingRepository.findNextBookings(List.of(item.getId()), statuses, dateTime);
+
+        //then
+        assertEquals(lastBookings.size(), 1);
+        assertEquals(lastBookings.get(0).getId(), pastBooking.getId());
+        assertEquals(lastBookings.get(0).getItemId(), item.getId());
+        assertEquals(lastBookings.get(0).getBookerId(), booker.getId());
+        assertEquals(nextBookings.size(), 1);
+        assertEquals(nextBookings.get(0).getId(), booking.getId());
+    }
+
+    @DirtiesContext
+    @Test
+    public void stateQueries_loadAPageOfBookingsInOneStatement_underNormalConditions() {
+
+        //given
+        for (int i = 0; i < 5; i++) {
+            User requestor = userRepository.save(User.builder().name("requestor" + i)
+                    .email("requestor" + i + "@user.com").build());
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder().description("нужна дрель")
+                    .requestor(requestor).created(LocalDateTime.now()).build());
+            Item newItem = itemRepository.save(Item.builder().name("дрель" + i).description("Простая дрель")
+                    .available(true).owner(owner).request(request).build());
+            User newBooker = userRepository.save(User.builder().name("booker" + i)
+                    .email("booker" + i + "@user.com").build());
+            bookingRepository.save(Booking.builder().start(LocalDateTime.now().minusHours(i + 1))
+                    .end(LocalDateTime.now().plusHours(i + 1)).booker(newBooker).item(newItem)
+                    .status(BookingStatus.WAITING).build());
+        }
+
+        //then
+        assertOneStatement(() -> bookingRepository.findAllByItemOwnerId(owner.getId(), pageable), 6);
+        assertOneStatement(() -> bookingRepository.findAllByOwnerIdAndStartBeforeAndEndAfter(owner.getId(),
+                dateTime, dateTime, pageable), 5);
+        assertOneStatement(() -> bookingRepository.findAllByOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING,
+                pageable), 6);
+        assertOneStatement(() -> bookingRepository.findAllByBookerId(booker.getId(), pageable), 1);
+        assertOneStatement(() -> bookingRepository.findAllAfter(BookingSpecifications.ownedBy(owner.getId()),
+                null, 10), 6);
+    }
+
+    private void assertOneStatement(Supplier<List<Booking>> query, int expectedSize) {
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingDto> bookings = query.get().stream()
+                .map(BookingMapper::objectToDto)
+                .collect(Collectors.toList());
+
+        bookings.stream()
+                .filter(booking -> booking.getItem().getRequest() != null)
+                .forEach(booking -> assertNotNull(booking.getItem().getRequest().getRequestor().getName()));
+        assertEquals(bookings.size(), expectedSize);
+        assertEquals(statistics.getPrepareStatementCount(), 1L);
+    }
 }
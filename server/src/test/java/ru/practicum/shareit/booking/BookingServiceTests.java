@@ -1,6 +1,10 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,14 +19,18 @@ import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserService;
 
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingServiceTests {
@@ -30,6 +38,9 @@ public class BookingServiceTests {
     private final BookingService bookingService;
     private final ItemService itemService;
     private final UserService userService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
     private UserDto owner;
     private UserDto booker;
     private ItemDto item;
@@ -59,6 +70,27 @@ public class BookingServiceTests {
         assertEquals(booking.getItem().getName(), item.getName());
     }
 
+    @DirtiesContext
+    @Test
+    public void create_executesAtMostThreeStatements_underNormalConditions() {
+
+        //given
+        UserDto newBooker = userService.createUser(UserDto.builder().name("user2").email("user2@user.com").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        //when
+        statistics.clear();
+        BookingDto newBooking = bookingService.createBooking(BookingDto.builder().itemId(item.getId())
+                .start(LocalDateTime.now().plusHours(1)).end(LocalDateTime.now().plusHours(2)).build(), newBooker.getId());
+
+        //then
+        assertEquals(newBooking.getBooker().getId(), newBooker.getId());
+        assertEquals(newBooking.getItem().getOwner().getId(), owner.getId());
+        assertEquals(statistics.getEntityInsertCount(), 1L);
+        assertEquals(statistics.getEntityUpdateCount(), 0L);
+        assertTrue(statistics.getPrepareStatementCount() <= 3, "Statements: " + statistics.getPrepareStatementCount());
+    }
+
     @DirtiesContext
     @Test
     public void create_returnsException_itemAvailableFalse() {
@@ -349,6 +381,80 @@ public class BookingServiceTests {
         assertEquals(bookingDtoList.get(0).getBooker().getId(), booking.getBooker().getId());
     }
 
+    @DirtiesContext
+    @Test
+    public void exportBookings_writesOneJsonLinePerBooking_underNormalConditions() throws Exception {
+
+        //given
+        BookingDto booking2 = bookingService.createBooking(BookingDto.builder().itemId(item.getId())
+                .start(LocalDateTime.now().plusHours(1)).end(LocalDateTime.now().plusHours(2)).build(), booker.getId());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        bookingService.exportBookings(outputStream);
+
+        //then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        BookingDtoMini first = objectMapper.readValue(lines[0], BookingDtoMini.class);
+        BookingDtoMini second = objectMapper.readValue(lines[1], BookingDtoMini.class);
+
+        assertEquals(lines.length, 2);
+        assertEquals(first.getId(), booking.getId());
+        assertEquals(first.getItemId(), item.getId());
+        assertEquals(first.getBookerId(), booker.getId());
+        assertEquals(first.getStatus(), BookingStatus.WAITING);
+        assertEquals(second.getId(), booking2.getId());
+    }
+
+    @DirtiesContext
+    @Test
+    public void getBookingsAfter_walksAllPagesByCursor_underNormalConditions() {
+
+        //given
+        BookingDto booking2 = bookingService.createBooking(BookingDto.builder().itemId(item.getId())
+                .start(LocalDateTime.now().plusHours(1)).end(LocalDateTime.now().plusHours(2)).build(), booker.getId());
+        BookingDto booking3 = bookingService.createBooking(BookingDto.builder().itemId(item.getId())
+                .start(LocalDateTime.now().plusHours(3)).end(LocalDateTime.now().plusHours(4)).build(), booker.getId());
+
+        //when
+        List<BookingDto> firstPage = bookingService.getBookingsForUsersItems(owner.getId(), "ALL", "", 2);
+        BookingDto last = firstPage.get(firstPage.size() - 1);
+        List<BookingDto> secondPage = bookingService.getBookingsForUsersItems(owner.getId(), "ALL",
+                last.getStart() + "," + last.getId(), 2);
+        List<BookingDto> futurePage = bookingService.getUsersBooking(booker.getId(), "FUTURE",
+                firstPage.get(0).getStart() + "," + firstPage.get(0).getId(), 10);
+
+        //then
+        assertEquals(firstPage.size(), 2);
+        assertEquals(firstPage.get(0).getId(), booking3.getId());
+        assertEquals(firstPage.get(1).getId(), booking2.getId());
+        assertEquals(secondPage.size(), 1);
+        assertEquals(secondPage.get(0).getId(), booking.getId());
+        assertEquals(futurePage.get(0).getId(), booking2.getId());
+        assertThrows(BadRequestException.class, () -> bookingService.getUsersBooking(booker.getId(), "ALL", "abc", 10));
+        assertThrows(BadRequestException.class, () -> bookingService.getUsersBooking(booker.getId(), "iwugdef", "", 10));
+    }
+
+    @DirtiesContext
+    @Test
+    public void getBookingsAfter_returnsAnEmptyPage_afterTheLastBooking() {
+
+        //given
+        List<BookingDto> lastPage = bookingService.getBookingsForUsersItems(owner.getId(), "ALL", "", 10);
+        BookingDto last = lastPage.get(lastPage.size() - 1);
+
+        //when
+        List<BookingDto> ownerPage = bookingService.getBookingsForUsersItems(owner.getId(), "ALL",
+                last.getStart() + "," + last.getId(), 10);
+        List<BookingDto> bookerPage = bookingService.getUsersBooking(booker.getId(), "ALL",
+                last.getStart() + "," + last.getId(), 10);
+
+        //then
+        assertEquals(lastPage.size(), 1);
+        assertEquals(ownerPage, List.of());
+        assertEquals(bookerPage, List.of());
+    }
+
     @DirtiesContext
     @Test
     public void getUsersBooking_returnsTheCorrectBookingDtoList_underNormalConditionsStateALL() {
@@ -476,4 +582,26 @@ public class BookingServiceTests {
         assertEquals(bookingDtoList.get(0).getItem().getId(), booking.getItem().getId());
         assertEquals(bookingDtoList.get(0).getBooker().getId(), booking.getBooker().getId());
     }
+
+    @DirtiesContext
+    @Test
+    public void getUsersBooking_isTimedByStateAndCountsRows_underNormalConditions() {
+
+        //when
+        bookingService.getUsersBooking(booker.getId(), "FUTURE", 0, 10);
+        assertThrows(ValidateException.class, () -> bookingService.getUsersBooking(booker.getId(), "PAST", 0, 10));
+
+        //then
+        assertEquals(1, meterRegistry.get("shareit.service")
+                .tags("service", "BookingService", "method", "getUsersBooking", "state", "FUTURE", "exception", "none")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("shareit.service")
+                .tags("method", "getUsersBooking", "state", "PAST", "exception", "ValidateException")
+                .timer().count());
+        assertEquals(1.0, meterRegistry.get("shareit.service.rows")
+                .tags("method", "getUsersBooking", "state", "FUTURE").counter().count());
+        assertEquals(1.0, meterRegistry.get("shareit.repository.rows")
+                .tags("repository", "BookingRepository", "method", "findAllByBookerIdAndStartAfter")
+                .counter().count());
+    }
 }
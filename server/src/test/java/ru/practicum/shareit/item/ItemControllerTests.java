@@ -1,18 +1,22 @@
 package ru.practicum.shareit.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.EtagFilterConfig;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.user.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,6 +27,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import({EtagFilterConfig.class, ItemReadCoalescer.class, SimpleMeterRegistry.class})
 public class ItemControllerTests {
 
     private final int itemId = 1;
@@ -120,9 +125,30 @@ public class ItemControllerTests {
         verify(itemService, times(1)).searchItems(anyString(), anyInt(), anyInt());
     }
 
+    @Test
+    void searchItems_returnsNotModified_whenEtagMatches() throws Exception {
+
+        when(itemService.searchItems(anyString(), anyInt(), anyInt())).thenReturn(List.of(itemDto));
+
+        String etag = mvc.perform(get("/items/search?from=0&size=10").param("text", "text")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/items/search?from=0&size=10").param("text", "text")
+                        .header("X-Sharer-User-Id", 1)
+                        .header("If-None-Match", etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void findItemById() throws Exception {
 
+        itemDto.setEtag("\"1.0.1.1.0\"");
         when(itemService.findItemById(anyInt(), anyInt())).thenReturn(itemDto);
 
         mvc.perform(get("/items/{itemId}", itemId)
@@ -136,11 +162,30 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("available").value(itemDto.getAvailable()))
                 .andExpect(jsonPath("requestId").value(itemDto.getRequestId()))
                 .andExpect(jsonPath("comments", hasSize(1)))
-                .andExpect(jsonPath("name").value(itemDto.getName()));
+                .andExpect(jsonPath("name").value(itemDto.getName()))
+                .andExpect(header().string("ETag", itemDto.getEtag()));
 
         verify(itemService, times(1)).findItemById(anyInt(), anyInt());
     }
 
+    @Test
+    void findItemById_returnsNotModified_withoutLoadingTheItem_whenEtagMatches() throws Exception {
+
+        String etag = "\"1.0.1.1.0\"";
+
+        when(itemService.findMatchingEtag(anyInt(), anyInt(), any())).thenReturn(Optional.of(etag));
+
+        mvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", 1)
+                        .header("If-None-Match", etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).findItemById(anyInt(), anyInt());
+    }
+
     @Test
     void deleteItem() throws Exception {
 
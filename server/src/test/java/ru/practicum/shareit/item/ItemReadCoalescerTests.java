@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemReadCoalescerTests {
+
+    private static final int READERS = 16;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ItemReadCoalescer coalescer = new ItemReadCoalescer(meterRegistry, true);
+
+    @Test
+    public void load_runsOneLoad_forConcurrentReadsOfTheSameItem() throws Exception {
+
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ItemDto itemDto = ItemDto.builder().id(1).name("дрель").build();
+        List<Future<ItemDto>> results = new ArrayList<>();
+
+        //when
+        try {
+            for (int i = 0; i < READERS; i++) {
+                results.add(executor.submit(() -> coalescer.load(1, false, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return itemDto;
+                })));
+            }
+            waitForWaiters(READERS - 1);
+            release.countDown();
+
+            //then
+            for (Future<ItemDto> result : results) {
+                assertSame(result.get(10, TimeUnit.SECONDS), itemDto);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(loads.get(), 1);
+        assertEquals(count("executed"), 1.0);
+        assertEquals(count("coalesced"), READERS - 1.0);
+    }
+
+    @Test
+    public void load_keepsOwnerAndOtherReadsApart() {
+
+        //when
+        coalescer.load(1, true, () -> coalescer.load(1, false, () -> ItemDto.builder().id(1).build()));
+
+        //then
+        assertEquals(count("executed"), 2.0);
+        assertEquals(count("coalesced"), 0.0);
+    }
+
+    @Test
+    public void load_passesTheLoadExceptionToEveryone_andForgetsTheFailedLoad() throws Exception {
+
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        //when
+        try {
+            Future<ItemDto> leader = executor.submit(() -> coalescer.load(999, false, () -> {
+                await(release);
+                throw new ObjectNotFoundException("There is no item with this id");
+            }));
+            waitForExecuted(1);
+            Future<ItemDto> follower = executor.submit(() -> coalescer.load(999, false, ItemDto::new));
+            waitForWaiters(1);
+            release.countDown();
+
+            //then
+            assertInstanceOf(ObjectNotFoundException.class,
+                    assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS)).getCause());
+            assertInstanceOf(ObjectNotFoundException.class,
+                    assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS)).getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNotNull(coalescer.load(999, false, ItemDto::new));
+    }
+
+    private double count(String result) {
+
+        return meterRegistry.get("items.reads").tag("result", result).counter().count();
+    }
+
+    private void waitForExecuted(int executed) throws InterruptedException {
+
+        while (count("executed") < executed) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    private void waitForWaiters(int waiters) throws InterruptedException {
+
+        while (count("coalesced") < waiters) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
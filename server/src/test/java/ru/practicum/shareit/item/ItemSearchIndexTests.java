@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexTests {
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void beforeEach() {
+
+        when(itemRepository.findAllSearchTexts()).thenReturn(List.of(
+                new ItemSearchText(1, "Отвёртка", "Удобнее, чем дрель"),
+                new ItemSearchText(2, "Дрель", "Простая дрель"),
+                new ItemSearchText(4, "Ударная дрель", "Мощная")));
+
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+        itemSearchIndex.build();
+    }
+
+    @Test
+    public void search_returnsRankedIds_underNormalConditions() {
+
+        //then
+        assertTrue(itemSearchIndex.isReady());
+        assertEquals(itemSearchIndex.search("дрель", 0, 10), List.of(2, 4, 1));
+        assertEquals(itemSearchIndex.search("ДРЕ", 1, 1), List.of(4));
+        assertEquals(itemSearchIndex.search("пила", 0, 10), List.of());
+    }
+
+    @Test
+    public void covers_leavesQueriesShorterThanATrigramToTheDatabase() {
+
+        //then
+        assertTrue(itemSearchIndex.covers(" дре "));
+        assertFalse(itemSearchIndex.covers("др"));
+        assertThrows(IllegalArgumentException.class, () -> itemSearchIndex.search("др", 0, 10));
+    }
+
+    @Test
+    public void build_keepsAWriteCommittedWhileItLoads() throws Exception {
+
+        //given
+        Thread[] writer = new Thread[1];
+        when(itemRepository.findAllSearchTexts()).thenAnswer(invocation -> {
+            writer[0] = new Thread(() -> itemSearchIndex.delete(2));
+            writer[0].start();
+            Thread.sleep(100);
+
+            return List.of(
+                    new ItemSearchText(1, "Отвёртка", "Удобнее, чем дрель"),
+                    new ItemSearchText(2, "Дрель", "Простая дрель"));
+        });
+
+        //when
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+        itemSearchIndex.build();
+        writer[0].join();
+
+        //then
+        assertEquals(itemSearchIndex.search("дрель", 0, 10), List.of(1));
+    }
+
+    @Test
+    public void search_followsIncrementalUpdates_underNormalConditions() {
+
+        //when
+        itemSearchIndex.index(Item.builder().id(3).name("Сломанная дрель").description("Починили").available(true).build());
+        itemSearchIndex.index(Item.builder().id(4).name("Ударная дрель").description("Мощная").available(false).build());
+        itemSearchIndex.index(Item.builder().id(5).name("Пила").description("Ручная пила").available(true).build());
+        itemSearchIndex.delete(1);
+
+        //then
+        assertEquals(itemSearchIndex.search("дрель", 0, 10), List.of(2, 3));
+        assertEquals(itemSearchIndex.search("пила", 0, 10), List.of(5));
+        assertEquals(itemSearchIndex.search("отвёртка", 0, 10), List.of());
+    }
+
+    @Test
+    public void search_isDisabled_byDefault() {
+
+        //when
+        ItemSearchIndex disabledIndex = new ItemSearchIndex(itemRepository, false);
+        disabledIndex.build();
+
+        //then
+        assertFalse(disabledIndex.isReady());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.SqlStatistics;
 import ru.practicum.shareit.booking.*;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
@@ -23,6 +24,8 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.SqlAssertions.assertNoRepeatedStatements;
+import static ru.practicum.shareit.SqlAssertions.assertStatementsAtMost;
 
 @SpringBootTest
 @AutoConfigureTestDatabase
@@ -35,6 +38,7 @@ public class ItemServiceTests {
     private final BookingMapper bookingMapper;
     private final ItemMapper itemMapper;
     private final ItemRequestService itemRequestService;
+    private final ItemRepository itemRepository;
 
     private UserDto userDto;
     private UserDto userDto2;
@@ -154,6 +158,112 @@ public class ItemServiceTests {
     }
 
 
+    @DirtiesContext
+    @Test
+    public void findAllByOwnerId_executesAFixedNumberOfQueries_regardlessOfPageSize() {
+
+        //given
+        for (int i = 0; i < 5; i++) {
+            ItemDto newItemDto = itemService.createItem(ItemDto.builder().name("дрель " + i).description("Ещё одна дрель")
+                    .available(true).build(), userDto.getId());
+            bookingService.createBooking(BookingDto.builder().itemId(newItemDto.getId())
+                    .start(LocalDateTime.now().plusHours(1)).end(LocalDateTime.now().plusHours(2)).build(), userDto2.getId());
+        }
+
+        //when
+        SqlStatistics smallPageStatistics = SqlStatistics.start();
+        List<ItemDto> smallPage = itemService.findAllByOwnerId(userDto.getId(), 0, 2);
+        SqlStatistics.stop();
+        SqlStatistics largePageStatistics = SqlStatistics.start();
+        List<ItemDto> largePage = itemService.findAllByOwnerId(userDto.getId(), 0, 10);
+        SqlStatistics.stop();
+
+        //then
+        assertEquals(smallPage.size(), 2);
+        assertEquals(largePage.size(), 6);
+        assertNotNull(largePage.get(5).getNextBooking());
+        assertEquals(smallPageStatistics.getStatements(), largePageStatistics.getStatements());
+        assertStatementsAtMost(4, largePageStatistics);
+        assertNoRepeatedStatements(largePageStatistics);
+    }
+
+    @DirtiesContext
+    @Test
+    public void findMatchingEtag_matchesUntilTheItemOrItsBookingsChange() {
+
+        //given
+        String ownerEtag = itemService.findItemById(itemDto.getId(), userDto.getId()).getEtag();
+        String viewerEtag = itemService.findItemById(itemDto.getId(), userDto2.getId()).getEtag();
+
+        //when
+        SqlStatistics statistics = SqlStatistics.start();
+        boolean ownerMatched = itemService.findMatchingEtag(itemDto.getId(), userDto.getId(), List.of(ownerEtag))
+                .isPresent();
+        SqlStatistics.stop();
+        boolean viewerMatched = itemService.findMatchingEtag(itemDto.getId(), userDto2.getId(), List.of(viewerEtag))
+                .isPresent();
+        bookingService.createBooking(BookingDto.builder().itemId(itemDto.getId())
+                .start(LocalDateTime.now().plusHours(1)).end(LocalDateTime.now().plusHours(2)).build(), userDto2.getId());
+        boolean ownerMatchedAfterBooking = itemService.findMatchingEtag(itemDto.getId(), userDto.getId(),
+                List.of(ownerEtag)).isPresent();
+        boolean viewerMatchedAfterBooking = itemService.findMatchingEtag(itemDto.getId(), userDto2.getId(),
+                List.of(viewerEtag)).isPresent();
+        itemService.updateItem(ItemDto.builder().id(itemDto.getId()).name("новая дрель").build(), userDto.getId());
+        boolean viewerMatchedAfterUpdate = itemService.findMatchingEtag(itemDto.getId(), userDto2.getId(),
+                List.of(viewerEtag)).isPresent();
+
+        //then
+        assertTrue(ownerMatched);
+        assertTrue(viewerMatched);
+        assertNotEquals(ownerEtag, viewerEtag);
+        assertEquals(statistics.getStatements(), 2);
+        assertFalse(ownerMatchedAfterBooking);
+        assertTrue(viewerMatchedAfterBooking);
+        assertFalse(viewerMatchedAfterUpdate);
+    }
+
+    @DirtiesContext
+    @Test
+    public void findMatchingEtag_missesAfterACommentOrAChangeOfTheUsersShown() throws InterruptedException {
+
+        //given
+        bookingService.createBooking(BookingDto.builder().itemId(itemDto.getId())
+                .start(LocalDateTime.now().plusSeconds(1)).end(LocalDateTime.now().plusSeconds(30)).build(),
+                userDto2.getId());
+        TimeUnit.SECONDS.sleep(2);
+        String viewerEtag = itemService.findItemById(itemDto.getId(), userDto2.getId()).getEtag();
+
+        //when
+        itemService.createComment(CommentDto.builder().text("текст комментария").created(LocalDateTime.now()).build(),
+                userDto2.getId(), itemDto.getId());
+        SqlStatistics statistics = SqlStatistics.start();
+        String commentedEtag = itemService.findItemById(itemDto.getId(), userDto2.getId()).getEtag();
+        SqlStatistics.stop();
+        userService.updateUser(UserDto.builder().id(userDto2.getId()).name("новое имя").build());
+        boolean matchedAfterAuthorUpdate = itemService.findMatchingEtag(itemDto.getId(), userDto2.getId(),
+                List.of(commentedEtag)).isPresent();
+
+        //then
+        assertNotEquals(viewerEtag, commentedEtag);
+        assertFalse(matchedAfterAuthorUpdate);
+        assertEquals(statistics.getStatements(), 2);
+    }
+
+    @DirtiesContext
+    @Test
+    public void isOwner_returnsFalse_afterTheItemIsDeleted() {
+
+        //given
+        boolean ownerBefore = itemService.isOwner(itemDto.getId(), userDto.getId());
+
+        //when
+        itemService.deleteItem(itemDto.getId(), userDto.getId());
+
+        //then
+        assertTrue(ownerBefore);
+        assertFalse(itemService.isOwner(itemDto.getId(), userDto.getId()));
+    }
+
     @DirtiesContext
     @Test
     public void createComment_returnsTheCorrectCommentDto_underNormalConditions() throws InterruptedException {
@@ -276,6 +386,49 @@ public class ItemServiceTests {
         assertEquals(itemDtoList3.size(), 0);
     }
 
+    @DirtiesContext
+    @Test
+    public void search_ranksNameMatchesFirstAndSkipsUnavailableItems_underNormalConditions() {
+
+        //given
+        ItemDto descriptionMatch = itemService.createItem(ItemDto.builder().name("Отвёртка")
+                .description("Удобнее, чем дрель").available(true).build(), userDto.getId());
+        itemService.createItem(ItemDto.builder().name("Сломанная дрель").description("Не работает")
+                .available(false).build(), userDto.getId());
+        ItemDto wordMatch = itemService.createItem(ItemDto.builder().name("Ударная дрель")
+                .description("Мощная").available(true).build(), userDto.getId());
+
+        //when
+        List<ItemDto> itemDtoList = itemService.searchItems("ДРЕЛЬ", 0, 10);
+
+        //then
+        assertEquals(itemDtoList.size(), 3);
+        assertEquals(itemDtoList.get(0).getId(), itemDto.getId());
+        assertEquals(itemDtoList.get(1).getId(), wordMatch.getId());
+        assertEquals(itemDtoList.get(2).getId(), descriptionMatch.getId());
+    }
+
+    @DirtiesContext
+    @Test
+    public void search_treatsWildcardsLiterally_likeTheSearchIndex() {
+
+        //given
+        ItemDto discounted = itemService.createItem(ItemDto.builder().name("Пила 50%")
+                .description("Со скидкой").available(true).build(), userDto.getId());
+        ItemDto underscored = itemService.createItem(ItemDto.builder().name("Ключ_12")
+                .description("Рожковый").available(true).build(), userDto.getId());
+
+        //when
+        List<ItemDto> percentList = itemService.searchItems("%", 0, 10);
+        List<ItemDto> underscoreList = itemService.searchItems("_", 0, 10);
+
+        //then
+        assertEquals(percentList.size(), 1);
+        assertEquals(percentList.get(0).getId(), discounted.getId());
+        assertEquals(underscoreList.size(), 1);
+        assertEquals(underscoreList.get(0).getId(), underscored.getId());
+    }
+
     @DirtiesContext
     @Test
     public void addData_returnsTheCorrectItemDto_underNormalConditions() {
@@ -315,4 +468,25 @@ public class ItemServiceTests {
         assertEquals(itemDto1.getLastBooking().getId(), booking1.getId());
         assertEquals(itemDto1.getNextBooking().getId(), booking2.getId());
     }
+
+    @DirtiesContext
+    @Test
+    public void findAllSearchTexts_readsAvailableItemsInOneStatement() {
+
+        //given
+        ItemDto unavailable = itemService.createItem(ItemDto.builder().name("пила").description("Сломанная пила")
+                .available(false).build(), userDto.getId());
+
+        //when
+        SqlStatistics statistics = SqlStatistics.start();
+        List<ItemSearchText> texts = itemRepository.findAllSearchTexts();
+        SqlStatistics.stop();
+
+        //then
+        assertEquals(texts.size(), 1);
+        assertEquals(texts.get(0).getItemId(), itemDto.getId());
+        assertEquals(texts.get(0).getName(), "дрель");
+        assertNotEquals(texts.get(0).getItemId(), unavailable.getId());
+        assertEquals(statistics.getStatements(), 1);
+    }
 }
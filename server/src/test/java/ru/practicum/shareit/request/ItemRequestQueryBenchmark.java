@@ -0,0 +1,103 @@
+package ru.practicum.shareit.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in benchmark for the /requests queries: {@code mvn test -Dtest=ItemRequestQueryBenchmark -Dshareit.benchmark=true}.
+ * Table sizes can be overridden with {@code -Dshareit.benchmark.rows=10000,100000,1000000}. The latencies are only
+ * logged, per table size, since they depend on the machine; the JMH module measures the service on top of them.
+ */
+@Slf4j
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+public class ItemRequestQueryBenchmark {
+
+    private static final int USERS = 100;
+    private static final int OWN_REQUESTS = 20;
+    private static final int BATCH = 10_000;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void requestQueries_reportLatency_asTheTableGrows() {
+
+        int[] sizes = Arrays.stream(System.getProperty("shareit.benchmark.rows", "10000,100000,1000000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .toArray();
+        LocalDateTime now = LocalDateTime.now();
+        int rows = 0;
+
+        for (int i = 1; i <= USERS; i++) {
+            jdbcTemplate.update("insert into users (name, email) values (?, ?)", "user" + i, "user" + i + "@user.com");
+        }
+        for (int i = 0; i < OWN_REQUESTS; i++) {
+            jdbcTemplate.update("insert into requests (description, user_id, created_date) values (?, 1, ?)",
+                    "own request " + i, Timestamp.valueOf(now.minusMinutes(i)));
+        }
+
+        for (int size : sizes) {
+            rows = insertRequests(rows, size, now);
+
+            LocalDateTime middle = now.minusSeconds(size / 2);
+            long ownRequests = measure(() -> itemRequestRepository.findAllByRequestorIdOrderByCreatedDescIdDesc(1));
+            long firstPage = measure(() -> itemRequestRepository.findAllByRequestorIdNot(1, PageRequest.of(0, 20,
+                    Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id")))));
+            long deepPage = measure(() -> itemRequestRepository.findAllByRequestorIdNotAfter(1, middle,
+                    Integer.MAX_VALUE, PageRequest.of(0, 20)));
+
+            log.info("requests={} own={}us first={}us keyset={}us", size, ownRequests, firstPage, deepPage);
+        }
+    }
+
+    private int insertRequests(int from, int to, LocalDateTime now) {
+
+        for (int start = from; start < to; start += BATCH) {
+            List<Object[]> batch = new ArrayList<>(BATCH);
+
+            for (int i = start; i < Math.min(start + BATCH, to); i++) {
+                batch.add(new Object[]{"request " + i, 2 + i % (USERS - 1), Timestamp.valueOf(now.minusSeconds(i))});
+            }
+
+            jdbcTemplate.batchUpdate("insert into requests (description, user_id, created_date) values (?, ?, ?)", batch);
+        }
+
+        return to;
+    }
+
+    private long measure(Supplier<List<ItemRequest>> query) {
+
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            query.get();
+        }
+
+        long begin = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.get();
+        }
+
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin) / ITERATIONS;
+    }
+}
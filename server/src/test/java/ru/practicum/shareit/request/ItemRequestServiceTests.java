@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.SqlStatistics;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.item.ItemDto;
@@ -18,6 +19,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.SqlAssertions.assertNoRepeatedStatements;
+import static ru.practicum.shareit.SqlAssertions.assertStatementsAtMost;
 
 @SpringBootTest
 @AutoConfigureTestDatabase
@@ -151,6 +154,75 @@ public class ItemRequestServiceTests {
         assertEquals(requests2.get(0).getItems().get(0).getId(), item.getId());
     }
 
+    @DirtiesContext
+    @Test
+    public void findAllRequest_executesAFixedNumberOfQueries_regardlessOfPageSize() {
+
+        //given
+        UserDto user = userService.createUser(userDto);
+        UserDto user2 = userService.createUser(UserDto.builder().name("user2").email("user2@user.com").build());
+
+        for (int i = 0; i < 6; i++) {
+            ItemRequestDto request = requestService.createRequest(ItemRequestDto.builder()
+                    .description("Хотел бы воспользоваться дрелью " + i).build(), user.getId());
+            itemService.createItem(ItemDto.builder().name("дрель" + i).requestId(request.getId())
+                    .description("Простая дрель").available(true).build(), user2.getId());
+        }
+
+
+        //when
+        SqlStatistics smallPageStatistics = SqlStatistics.start();
+        List<ItemRequestDto> smallPage = requestService.findAllRequest(user2.getId(), 0, 2);
+        SqlStatistics.stop();
+        SqlStatistics largePageStatistics = SqlStatistics.start();
+        List<ItemRequestDto> largePage = requestService.findAllRequest(user2.getId(), 0, 5);
+        SqlStatistics.stop();
+        SqlStatistics ownRequestsStatistics = SqlStatistics.start();
+        List<ItemRequestDto> ownRequests = requestService.findAllRequest(user.getId());
+        SqlStatistics.stop();
+
+        //then
+        assertEquals(smallPage.size(), 2);
+        assertEquals(largePage.size(), 5);
+        assertEquals(ownRequests.size(), 6);
+        assertEquals(largePage.get(0).getItems().size(), 1);
+        assertEquals(largePage.get(0).getItems().get(0).getRequestId(), largePage.get(0).getId());
+        assertEquals(smallPageStatistics.getStatements(), largePageStatistics.getStatements());
+        assertStatementsAtMost(4, largePageStatistics);
+        assertNoRepeatedStatements(largePageStatistics);
+        assertStatementsAtMost(3, ownRequestsStatistics);
+        assertNoRepeatedStatements(ownRequestsStatistics);
+    }
+
+    @DirtiesContext
+    @Test
+    public void findAllRequest_returnsFullPagesAndWalksByCursor_underNormalConditions() {
+
+        //given
+        UserDto user = userService.createUser(userDto);
+        UserDto user2 = userService.createUser(UserDto.builder().name("user2").email("user2@user.com").build());
+
+        for (int i = 0; i < 3; i++) {
+            requestService.createRequest(ItemRequestDto.builder().description("Нужна дрель " + i).build(), user.getId());
+            requestService.createRequest(ItemRequestDto.builder().description("Нужна пила " + i).build(), user2.getId());
+        }
+
+        //when
+        List<ItemRequestDto> page = requestService.findAllRequest(user2.getId(), 0, 2);
+        List<ItemRequestDto> firstPage = requestService.findAllRequest(user2.getId(), "", 2);
+        ItemRequestDto last = firstPage.get(firstPage.size() - 1);
+        List<ItemRequestDto> secondPage = requestService.findAllRequest(user2.getId(),
+                last.getCreated() + "," + last.getId(), 2);
+
+        //then
+        assertEquals(page.size(), 2);
+        assertEquals(firstPage, page);
+        assertEquals(secondPage.size(), 1);
+        assertEquals(secondPage.get(0).getDescription(), "Нужна дрель 0");
+        assertTrue(secondPage.stream().noneMatch(request -> request.getRequestor().getId().equals(user2.getId())));
+        assertThrows(BadRequestException.class, () -> requestService.findAllRequest(user2.getId(), "abc", 2));
+    }
+
     @DirtiesContext
     @Test
     public void findAllRequest3_returnsException_underIncorrectFromOrSize() {
@@ -18,8 +18,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = UserController.class)
 class UserControllerTests {
@@ -95,6 +94,20 @@ class UserControllerTests {
         verify(userService, Mockito.times(1)).findUserById(1);
     }
 
+    @Test
+    void findUserById_returnsNotModified_whenEtagMatches() throws Exception {
+
+        userDto.setVersion(3);
+        when(userService.findUserById(anyInt())).thenReturn(userDto);
+
+        mvc.perform(get("/users/{userId}", userId)
+                        .header("If-None-Match", "W/\"1.3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1.3\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void findAllUsers() throws Exception {
 
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.annotation.DirtiesContext;
@@ -13,6 +15,8 @@ import ru.practicum.shareit.exceptions.ObjectNotFoundException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
@@ -21,6 +25,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 public class UserServiceTests {
 
     private final UserService userService;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
     UserDto userDto = UserDto.builder().name("user").email("user@user.com").build();
 
     @DirtiesContext
@@ -63,6 +70,49 @@ public class UserServiceTests {
         assertEquals(userDto2.getEmail(), userDto1.getEmail());
     }
 
+    @DirtiesContext
+    @Test
+    public void findById_isServedFromCacheUntilUpdated_underNormalConditions() {
+
+        //given
+        UserDto userDto1 = userService.createUser(userDto);
+        userService.findUserById(userDto1.getId());
+
+        //when
+        UserDto cachedUser = userService.findUserById(userDto1.getId());
+
+        //then
+        assertEquals(cachedUser.getName(), userDto1.getName());
+        assertEquals(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count(), 1.0);
+        assertEquals(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "miss")
+                .functionCounter().count(), 1.0);
+        assertNotNull(cacheManager.getCache("users").get(userDto1.getId()));
+
+        //when
+        userService.deleteUser(userDto1.getId());
+
+        //then
+        assertNull(cacheManager.getCache("users").get(userDto1.getId()));
+        assertThrows(ObjectNotFoundException.class, () -> userService.findUserById(userDto1.getId()));
+    }
+
+    @DirtiesContext
+    @Test
+    public void update_evictsTheCachedUser_underNormalConditions() {
+
+        //given
+        UserDto userDto1 = userService.createUser(userDto);
+        userService.findUserById(userDto1.getId());
+
+        //when
+        userService.updateUser(UserDto.builder().id(userDto1.getId()).name("User1").build());
+
+        //then
+        assertNull(cacheManager.getCache("users").get(userDto1.getId()));
+        assertEquals(userService.findUserById(userDto1.getId()).getName(), "User1");
+    }
+
     @DirtiesContext
     @Test
     public void findById_returnException_invalidId() {
@@ -116,6 +166,40 @@ public class UserServiceTests {
         assertEquals(newUserDto1.getEmail(), "User1@user.com");
     }
 
+    @DirtiesContext
+    @Test
+    public void findById_returnsACopy_thatDoesNotChangeTheCachedUser() {
+
+        //given
+        UserDto userDto1 = userService.createUser(userDto);
+
+        //when
+        userService.findUserById(userDto1.getId()).setName("changed");
+
+        //then
+        assertEquals(userService.findUserById(userDto1.getId()).getName(), userDto1.getName());
+    }
+
+    @DirtiesContext
+    @Test
+    public void update_appliesToTheCurrentRow_whenTheCachedUserIsStale() {
+
+        //given
+        UserDto userDto1 = userService.createUser(userDto);
+        userService.findUserById(userDto1.getId());
+        User user = userRepository.findById(userDto1.getId()).orElseThrow();
+        user.setName("renamed elsewhere");
+        userRepository.saveAndFlush(user);
+
+        //when
+        UserDto updated = userService.updateUser(UserDto.builder().id(userDto1.getId()).email("new@user.com").build());
+
+        //then
+        assertEquals(updated.getName(), "renamed elsewhere");
+        assertEquals(updated.getEmail(), "new@user.com");
+        assertEquals(userService.findUserById(userDto1.getId()).getVersion(), updated.getVersion());
+    }
+
     @DirtiesContext
     @Test
     public void update_returnsTheCorrectUserDto_withDuplicateEmail() {